@@ -0,0 +1,117 @@
+package com.steve.api.gate.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * corebanking's signing keys (its JWKS), held in memory so the gateway
+ * verifies tokens without calling corebanking per request.
+ *
+ * The key set is fetched on first use and re-fetched in the background once
+ * it is older than refreshInterval; requests keep using the old keys
+ * meanwhile, and if corebanking is unreachable. A token naming a kid that is
+ * not in the set (a rotated key) triggers an immediate re-fetch, at most once
+ * per minRefetchInterval so forged kids cannot hammer corebanking.
+ */
+public class CachedJwkSource implements Function<SignedJWT, Flux<JWK>> {
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final Duration minRefetchInterval;
+    private final Clock clock;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicReference<Mono<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicReference<Instant> lastAttempt = new AtomicReference<>(Instant.MIN);
+
+    public CachedJwkSource(WebClient webClient, String jwkSetUri, Duration refreshInterval,
+                           Duration minRefetchInterval, Clock clock) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefetchInterval = minRefetchInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            return fetch().flatMapMany(fetched -> Flux.fromIterable(selector.select(fetched.keys)));
+        }
+
+        Instant now = clock.instant();
+        boolean mayFetch = !now.isBefore(lastAttempt.get().plus(minRefetchInterval));
+        List<JWK> keys = selector.select(snapshot.keys);
+
+        if (keys.isEmpty() && mayFetch) {
+            // Unknown kid: corebanking may have rotated its key
+            return fetch()
+                    .onErrorReturn(snapshot)
+                    .flatMapMany(fetched -> Flux.fromIterable(selector.select(fetched.keys)));
+        }
+        if (mayFetch && !now.isBefore(snapshot.fetchedAt.plus(refreshInterval))) {
+            fetch().subscribe(fetched -> { }, ex -> { }); // keep serving the old keys if this fails
+        }
+        return Flux.fromIterable(keys);
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    // One request at a time; concurrent callers share it
+    private Mono<Snapshot> fetch() {
+        Mono<Snapshot> existing = inFlight.get();
+        if (existing != null) {
+            return existing;
+        }
+        lastAttempt.set(clock.instant());
+        Mono<Snapshot> request = webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parse)
+                .doOnNext(current::set)
+                .doFinally(signal -> inFlight.set(null))
+                .cache();
+        if (inFlight.compareAndSet(null, request)) {
+            return request;
+        }
+        Mono<Snapshot> other = inFlight.get();
+        return other != null ? other : request;
+    }
+
+    private Snapshot parse(String body) {
+        try {
+            return new Snapshot(JWKSet.parse(body), clock.instant());
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JWK set from " + jwkSetUri, e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final JWKSet keys;
+        private final Instant fetchedAt;
+
+        private Snapshot(JWKSet keys, Instant fetchedAt) {
+            this.keys = keys;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
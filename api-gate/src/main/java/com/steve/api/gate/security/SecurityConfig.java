@@ -0,0 +1,68 @@
+package com.steve.api.gate.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Rejects requests without a valid corebanking token at the edge, verifying
+ * signatures locally against the cached JWKS. The services behind the gateway
+ * still verify tokens themselves; this only stops bad ones early.
+ *
+ * jwt.enabled=false turns the gateway back into a plain router.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    // Mirrors what corebanking lets through without a token, plus the key set and health checks
+    private static final String[] PUBLIC_PATHS = {
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/accounts/**",
+            "/.well-known/jwks.json",
+            "/actuator/health/**",
+            "/actuator/info"
+    };
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                  @Value("${jwt.enabled:true}") boolean jwtEnabled) {
+        http.csrf(ServerHttpSecurity.CsrfSpec::disable);
+
+        if (!jwtEnabled) {
+            return http.authorizeExchange(exchange -> exchange.anyExchange().permitAll()).build();
+        }
+
+        return http
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(PUBLIC_PATHS).permitAll()
+                        .anyExchange().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+                .build();
+    }
+
+    @Bean
+    ReactiveJwtDecoder jwtDecoder(WebClient.Builder webClientBuilder,
+                                  @Value("${jwt.jwk-set-uri:${corebanking.service.url:http://localhost:8080}/.well-known/jwks.json}") String jwkSetUri,
+                                  @Value("${jwt.jwk-set-refresh-minutes:5}") long refreshMinutes) {
+        CachedJwkSource jwkSource = new CachedJwkSource(webClientBuilder.build(), jwkSetUri,
+                Duration.ofMinutes(refreshMinutes), Duration.ofSeconds(30), Clock.systemUTC());
+
+        return NimbusReactiveJwtDecoder.withJwkSource(jwkSource)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .build();
+    }
+}
@@ -5,7 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_trail")
+@Table(name = "audit_trail", indexes = {
+        @Index(name = "idx_audit_trail_username_timestamp", columnList = "username, timestamp"),
+        @Index(name = "idx_audit_trail_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_trail_action_type", columnList = "action_type"),
+        @Index(name = "idx_audit_trail_role", columnList = "role")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,25 @@
+package com.steve.audit_service.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    // audit-service shares its database with corebanking, so it keeps its own
+    // history table and baselines at 0 (V1 is idempotent) rather than treating
+    // corebanking's tables as an already-migrated schema.
+    @Bean
+    public FlywayConfigurationCustomizer auditFlywayCustomizer(
+            @Value("${audit.flyway.concurrent-indexes:true}") boolean concurrentIndexes) {
+        return configuration -> configuration
+                .table("audit_flyway_schema_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .placeholders(Map.of("concurrently", concurrentIndexes ? "CONCURRENTLY" : ""));
+    }
+}
@@ -1,13 +1,28 @@
 package com.steve.audit_service.reporting;
 
+import com.itextpdf.text.DocumentException;
+import com.steve.audit_service.reporting.dto.AccountDto;
+import com.steve.audit_service.reporting.dto.StatementJobDto;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -15,6 +30,7 @@ import java.util.Map;
 public class ReportingController {
 
     private final ReportingService reportingService;
+    private final StatementJobService statementJobService;
 
 
     //  Daily Transaction Report
@@ -29,6 +45,18 @@ public class ReportingController {
     }
 
 
+    //  Transaction Report over a date range (max 366 days)
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
+    @GetMapping("/range")
+    public ResponseEntity<Map<String, Object>> getTransactionRangeReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(reportingService.generateTransactionRangeReport(from, to));
+    }
+
+
     //  Ledger Reconciliation Report
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
@@ -39,7 +67,7 @@ public class ReportingController {
     }
 
 
-    // Account Statement (PDF)
+    // Account Statement (JSON)
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
     @GetMapping("/statement/{accountNumber}")
@@ -50,4 +78,92 @@ public class ReportingController {
     ) {
         return reportingService.generateAccountStatement(accountNumber, startDate, endDate);
     }
+
+
+    // Account Statement (PDF), written to the response as pages are rendered
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
+    @GetMapping("/statement/{accountNumber}/pdf")
+    public void getAccountStatementPdf(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response
+    ) throws IOException, DocumentException {
+        Optional<AccountDto> account = reportingService.findAccount(accountNumber);
+        if (account.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=statement_" + accountNumber + ".pdf");
+        try {
+            reportingService.writePdfStatement(account.get(), startDate, endDate, response.getOutputStream());
+        } catch (RuntimeException | DocumentException ex) {
+            // Until the 200 is committed the buffered bytes are dropped and the error
+            // becomes a 500. After that, rethrowing makes the container abort the
+            // connection without the final chunk, so the client sees a failed
+            // download rather than a truncated PDF.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw ex;
+        }
+    }
+
+
+    // Account Statement jobs: submit, poll, download
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
+    @PostMapping("/statement-jobs")
+    public ResponseEntity<StatementJobDto> submitStatementJob(
+            @RequestParam String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        StatementJobDto job;
+        try {
+            job = statementJobService.submit(accountNumber, startDate, endDate);
+        } catch (RejectedExecutionException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/statement-jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
+    @GetMapping("/statement-jobs/{jobId}")
+    public ResponseEntity<StatementJobDto> getStatementJob(@PathVariable String jobId) {
+        return ResponseEntity.of(statementJobService.find(jobId));
+    }
+
+    // 409 until the job has COMPLETED, 410 once its cached file has been evicted
+    @PreAuthorize("hasRole('ADMIN') or hasRole('AUDITOR')")
+    @GetMapping("/statement-jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadStatementJob(@PathVariable String jobId) throws IOException {
+        Optional<StatementJobDto> job = statementJobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<InputStream> file;
+        try {
+            file = statementJobService.openResult(jobId);
+        } catch (NoSuchFileException ex) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        // The stream is closed once the body has been written, which releases the file
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=statement_" + job.get().getAccountNumber() + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(new InputStreamResource(file.get()));
+    }
 }
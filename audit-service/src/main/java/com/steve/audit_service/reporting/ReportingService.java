@@ -9,11 +9,10 @@ import com.steve.audit_service.reporting.dto.*;
 
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.*;
 import java.util.*;
@@ -34,89 +33,103 @@ ReportingService {
     private final AccountClient accountClient;
     private final AuditTrailRepository auditTrailRepository;
 
+    private static final int RECONCILIATION_PAGE_SIZE = 500;
+    private static final int STATEMENT_PAGE_SIZE = 500;
+    private static final int PDF_FLUSH_ROWS = 50;
+
     // ==================================================
     //  DAILY TRANSACTION REPORT
     // ==================================================
     public Map<String, Object> generateDailyTransactionReport(LocalDate date) {
+        return dailyReport(date, transactionClient.getDailySummary(date));
+    }
 
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(LocalTime.MAX);
-
-        List<TransactionDto> transactions = transactionClient.getAllTransactions()
-                .stream()
-                .filter(tx -> !tx.getCreatedAt().isBefore(start)
-                        && !tx.getCreatedAt().isAfter(end))
-                .toList();
+    // ==================================================
+    //  TRANSACTION RANGE REPORT (e.g. a quarter)
+    // ==================================================
+    // One rollup row per day from corebanking, so the cost grows with days, not transactions
+    public Map<String, Object> generateTransactionRangeReport(LocalDate from, LocalDate to) {
+
+        List<Map<String, Object>> days = new ArrayList<>();
+        Map<String, BigDecimal> totalsByType = new HashMap<>();
+        Map<String, BigDecimal> tellerKPIs = new TreeMap<>();
+        long transactionCount = 0;
+
+        for (DailyTransactionReportDto summary : transactionClient.getDailySummaries(from, to)) {
+            days.add(dailyReport(summary.getDate(), summary));
+            transactionCount += summary.getTransactionCount();
+            orEmpty(summary.getTotalsByType()).forEach((type, total) -> totalsByType.merge(type, total, BigDecimal::add));
+            orEmpty(summary.getTotalsByTeller()).forEach((teller, total) -> tellerKPIs.merge(teller, total, BigDecimal::add));
+        }
 
-        BigDecimal totalDeposits = sumByType(transactions, TransactionType.DEPOSIT);
-        BigDecimal totalWithdrawals = sumByType(transactions, TransactionType.WITHDRAWAL);
-        BigDecimal totalTransfers = sumByType(transactions, TransactionType.TRANSFER);
+        return Map.of(
+                "from", from,
+                "to", to,
+                "transactionCount", transactionCount,
+                "totalDeposits", totalsByType.getOrDefault(TransactionType.DEPOSIT.name(), BigDecimal.ZERO),
+                "totalWithdrawals", totalsByType.getOrDefault(TransactionType.WITHDRAWAL.name(), BigDecimal.ZERO),
+                "totalTransfers", totalsByType.getOrDefault(TransactionType.TRANSFER.name(), BigDecimal.ZERO),
+                "tellerKPIs", tellerKPIs,
+                "days", days
+        );
+    }
 
-        Map<String, BigDecimal> tellerKPIs =
-                transactions.stream()
-                        .collect(Collectors.groupingBy(
-                                TransactionDto::getCreatedBy,
-                                Collectors.mapping(
-                                        TransactionDto::getAmount,
-                                        Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
-                                )
-                        ));
+    private Map<String, Object> dailyReport(LocalDate date, DailyTransactionReportDto summary) {
+        Map<String, BigDecimal> totalsByType = orEmpty(summary.getTotalsByType());
 
         return Map.of(
                 "date", date,
-                "totalDeposits", totalDeposits,
-                "totalWithdrawals", totalWithdrawals,
-                "totalTransfers", totalTransfers,
-                "tellerKPIs", tellerKPIs
+                "transactionCount", summary.getTransactionCount(),
+                "totalDeposits", totalsByType.getOrDefault(TransactionType.DEPOSIT.name(), BigDecimal.ZERO),
+                "totalWithdrawals", totalsByType.getOrDefault(TransactionType.WITHDRAWAL.name(), BigDecimal.ZERO),
+                "totalTransfers", totalsByType.getOrDefault(TransactionType.TRANSFER.name(), BigDecimal.ZERO),
+                "tellerKPIs", orEmpty(summary.getTotalsByTeller())
         );
     }
 
-    private BigDecimal sumByType(List<TransactionDto> txs, TransactionType type) {
-        return txs.stream()
-                .filter(tx -> tx.getType() != null
-                        && tx.getType().equalsIgnoreCase(type.name()))
-                .map(TransactionDto::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static Map<String, BigDecimal> orEmpty(Map<String, BigDecimal> totals) {
+        return totals == null ? Map.of() : totals;
     }
 
 
     // ==================================================
     // LEDGER RECONCILIATION REPORT
     // ==================================================
+    // corebanking compares balances against the ledger in one grouped query
+    // and only sends back the accounts that disagree, a page at a time.
     public Map<String, Object> generateLedgerReconciliationReport() {
 
-        List<AccountDto> accounts = accountClient.fetchAccounts();
         List<Map<String, Object>> mismatches = new ArrayList<>();
+        long totalAccounts = 0;
+        String after = null;
 
-        for (AccountDto acc : accounts) {
-
-            // 🔑 Fetch ledger PER ACCOUNT
-            List<LedgerEntryDto> ledgerEntries =
-                    ledgerClient.getLedgerEntries(acc.getAccountNumber());
-
-            BigDecimal ledgerBalance = ledgerEntries.stream()
-                    .map(l -> l.getEntryType() == EntryType.CREDIT
-                            ? l.getAmount()
-                            : l.getAmount().negate())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            if (acc.getBalance().compareTo(ledgerBalance) != 0) {
-                mismatches.add(Map.of(
-                        "accountNumber", acc.getAccountNumber(),
-                        "accountBalance", acc.getBalance(),
-                        "ledgerBalance", ledgerBalance,
-                        "variance", acc.getBalance().subtract(ledgerBalance)
-                ));
+        do {
+            LedgerReconciliationPageDto page =
+                    ledgerClient.getReconciliationMismatches(after, RECONCILIATION_PAGE_SIZE);
+
+            totalAccounts = page.getTotalAccounts();
+            for (LedgerReconciliationDto m : page.getMismatches()) {
+                mismatches.add(mismatch(m.getAccountNumber(), m.getAccountBalance(), m.getLedgerBalance()));
             }
-        }
+            after = page.getNextAfterAccountNumber();
+        } while (after != null);
 
         return Map.of(
-                "totalAccounts", accounts.size(),
+                "totalAccounts", totalAccounts,
                 "totalMismatches", mismatches.size(),
                 "mismatchedAccounts", mismatches
         );
     }
 
+    private Map<String, Object> mismatch(String accountNumber, BigDecimal accountBalance, BigDecimal ledgerBalance) {
+        return Map.of(
+                "accountNumber", accountNumber,
+                "accountBalance", accountBalance,
+                "ledgerBalance", ledgerBalance,
+                "variance", accountBalance.subtract(ledgerBalance)
+        );
+    }
+
 
     // ==================================================
     // SUSPICIOUS ACTIVITY REPORT
@@ -146,7 +159,7 @@ ReportingService {
     }
 
     // ==================================================
-    // 4ACCOUNT STATEMENT (PDF ONLY)
+    // ACCOUNT STATEMENT (JSON)
     // ==================================================
     public ResponseEntity<?> generateAccountStatement(
             String accountNumber,
@@ -184,48 +197,87 @@ ReportingService {
     }
 
 
-    private ResponseEntity<?> generatePdfStatement(
-            String accountNumber,
+    // ==================================================
+    // ACCOUNT STATEMENT (STREAMED PDF)
+    // ==================================================
+    // Empty when corebanking does not know the account, so the caller can 404
+    // before anything is written
+    public Optional<AccountDto> findAccount(String accountNumber) {
+        try {
+            return Optional.of(accountClient.getAccount(accountNumber));
+        } catch (FeignException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+
+    // Writes the statement to out as transactions arrive, a page at a time.
+    // The table is marked incomplete and added every PDF_FLUSH_ROWS rows, which
+    // writes the finished rows out and drops them, so only one transaction page
+    // and a few table rows are held at once however long the statement is.
+    // The first page and the closing balance are fetched before anything is
+    // written, so a corebanking failure up front leaves out untouched and the
+    // caller can still report it. The balance is the ledger's as of endDate, not
+    // the account's live one, so a cached copy of a closed period stays correct.
+    public void writePdfStatement(
             AccountDto account,
-            List<TransactionDto> transactions
-    ) throws Exception {
+            LocalDate startDate,
+            LocalDate endDate,
+            OutputStream out
+    ) throws DocumentException {
+
+        TransactionPageDto page = transactionClient.getTransactionsByAccountAndDateRangePage(
+                account.getAccountNumber(), startDate, endDate, null, STATEMENT_PAGE_SIZE);
+        BigDecimal closingBalance = ledgerClient.getLedgerBalanceAsOf(account.getAccountNumber(), endDate);
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document();
-        PdfWriter.getInstance(document, out);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false); // the servlet container owns the response stream
 
         document.open();
         document.add(new Paragraph("ACCOUNT STATEMENT"));
-        document.add(new Paragraph("Account Number: " + accountNumber));
-        document.add(new Paragraph("Balance: " + account.getBalance()));
+        document.add(new Paragraph("Account Number: " + account.getAccountNumber()));
+        document.add(new Paragraph("Period: " + startDate + " to " + endDate));
+        document.add(new Paragraph("Closing Balance (" + endDate + "): " + closingBalance));
         document.add(Chunk.NEWLINE);
 
         PdfPTable table = new PdfPTable(7);
         table.setWidthPercentage(100);
+        table.setHeaderRows(1); // repeated on every page
+        table.setComplete(false);
 
         Stream.of(
                 "Type", "Reference", "Account",
                 "Target", "Amount", "Narration", "Date"
         ).forEach(h -> table.addCell(new PdfPCell(new Phrase(h))));
 
-        for (TransactionDto tx : transactions) {
-            table.addCell(tx.getType().toString());
-            table.addCell(tx.getReferenceId());
-            table.addCell(tx.getAccountNumber());
-            table.addCell(tx.getTargetAccount() == null ? "" : tx.getTargetAccount());
-            table.addCell(tx.getAmount().toString());
-            table.addCell(tx.getNarration());
-            table.addCell(tx.getCreatedAt().toString());
+        long rows = 0;
+        while (true) {
+            for (TransactionDto tx : page.getContent()) {
+                table.addCell(nullToEmpty(tx.getType()));
+                table.addCell(nullToEmpty(tx.getReferenceId()));
+                table.addCell(nullToEmpty(tx.getAccountNumber()));
+                table.addCell(nullToEmpty(tx.getTargetAccount()));
+                table.addCell(tx.getAmount() == null ? "" : tx.getAmount().toPlainString());
+                table.addCell(nullToEmpty(tx.getNarration()));
+                table.addCell(tx.getCreatedAt() == null ? "" : tx.getCreatedAt().toString());
+                if (++rows % PDF_FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
+            }
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = transactionClient.getTransactionsByAccountAndDateRangePage(
+                    account.getAccountNumber(), startDate, endDate, page.getNextCursor(), STATEMENT_PAGE_SIZE);
         }
 
+        table.setComplete(true);
         document.add(table);
         document.close();
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=statement_" + accountNumber + ".pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(new ByteArrayResource(out.toByteArray()));
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
     }
 
     private AccountStatementDto buildAccountStatement(
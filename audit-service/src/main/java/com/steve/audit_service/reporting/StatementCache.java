@@ -0,0 +1,182 @@
+package com.steve.audit_service.reporting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Rendered PDF statements on local disk, one file per account and date range,
+ * evicted least recently used first once the directory outgrows maxBytes.
+ *
+ * Files are written under a temporary name and moved into place, so a reader
+ * never sees a half-written statement. The index is rebuilt from the directory
+ * on startup (oldest modified first), so a restart keeps the cache warm.
+ * A file opened for download is not evicted until its stream is closed; the
+ * cache may run over maxBytes meanwhile and catches up on the next close.
+ */
+@Component
+public class StatementCache {
+
+    private static final String SUFFIX = ".pdf";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true); // file name -> bytes, LRU order
+    private final Map<String, Integer> readers = new HashMap<>(); // file name -> open download streams
+    private long totalBytes;
+
+    public StatementCache(@Value("${reporting.statements.cache-dir:${java.io.tmpdir}/audit-statements}") String directory,
+                          @Value("${reporting.statements.cache-max-bytes:536870912}") long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Statement cache size must be greater than 0");
+        }
+        this.directory = Files.createDirectories(Paths.get(directory));
+        this.maxBytes = maxBytes;
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            List<Path> existing = files
+                    .filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(StatementCache::lastModified))
+                    .toList();
+            for (Path file : existing) {
+                long size = Files.size(file);
+                sizes.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+        }
+        // Leftovers of writes interrupted by a restart
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path tmp : files.filter(f -> f.getFileName().toString().endsWith(".tmp")).toList()) {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        synchronized (this) {
+            evict(null);
+        }
+    }
+
+    public synchronized Optional<Path> get(String accountNumber, LocalDate startDate, LocalDate endDate) {
+        String name = fileName(accountNumber, startDate, endDate);
+        if (sizes.get(name) == null) { // get() also marks it recently used
+            return Optional.empty();
+        }
+        Path file = directory.resolve(name);
+        if (!Files.exists(file)) {
+            totalBytes -= sizes.remove(name);
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    // Renders into a temporary file outside the lock, then publishes it
+    public Path put(String accountNumber, LocalDate startDate, LocalDate endDate, StatementWriter writer)
+            throws Exception {
+        String name = fileName(accountNumber, startDate, endDate);
+        Path tmp = Files.createTempFile(directory, "statement_", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.write(out);
+            }
+            long size = Files.size(tmp);
+            synchronized (this) {
+                Path file = Files.move(tmp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                Long previous = sizes.put(name, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict(name);
+                return file;
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Opens a file returned by get or put for reading; it stays on disk until the
+    // stream is closed. NoSuchFileException if it was evicted before this call.
+    public synchronized InputStream open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        InputStream in = Files.newInputStream(directory.resolve(name));
+        readers.merge(name, 1, Integer::sum);
+        return new FilterInputStream(in) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    synchronized (StatementCache.this) {
+                        if (!closed) {
+                            closed = true;
+                            readers.computeIfPresent(name, (n, count) -> count == 1 ? null : count - 1);
+                            evict(null);
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    // Drops least recently used files until under the limit; keep and files
+    // being downloaded are never dropped
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep) || readers.containsKey(entry.getKey())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    // Account numbers come from the URL, so only safe characters reach the file name
+    static String fileName(String accountNumber, LocalDate startDate, LocalDate endDate) {
+        return "statement_" + accountNumber.replaceAll("[^A-Za-z0-9_-]", "_")
+                + "_" + startDate + "_" + endDate + SUFFIX;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface StatementWriter {
+        void write(OutputStream out) throws Exception;
+    }
+}
@@ -0,0 +1,247 @@
+package com.steve.audit_service.reporting;
+
+import com.steve.audit_service.reporting.dto.AccountDto;
+import com.steve.audit_service.reporting.dto.StatementJobDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders PDF statements in the background: submit returns a job straight
+ * away, the caller polls it and downloads the file once it is COMPLETED.
+ *
+ * Jobs run on a fixed pool with a bounded queue; when the queue is full,
+ * submit throws {@link RejectedExecutionException} instead of piling up work.
+ * Statements for closed periods (ending before today) go into the
+ * {@link StatementCache}, so a repeat request completes on submit without
+ * calling corebanking. Statements that still include today are rendered to a
+ * private file every time, because new postings would make a cached copy stale.
+ *
+ * Job records live in memory on the instance that accepted them and are
+ * dropped jobTtl after they finish. The submitter's security context is
+ * carried onto the worker, so Feign forwards their bearer token.
+ */
+@Slf4j
+@Service
+public class StatementJobService {
+
+    private final ReportingService reportingService;
+    private final StatementCache cache;
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService executor;
+    private final Duration jobTtl;
+    private final Map<String, StatementJob> jobs = new ConcurrentHashMap<>();
+
+    public StatementJobService(ReportingService reportingService,
+                               StatementCache cache,
+                               @Value("${reporting.statements.workers:4}") int workers,
+                               @Value("${reporting.statements.queue-capacity:50}") int queueCapacity,
+                               @Value("${reporting.statements.job-ttl-minutes:60}") long jobTtlMinutes) {
+        if (workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Statement workers and queue capacity must be greater than 0");
+        }
+        this.reportingService = reportingService;
+        this.cache = cache;
+        this.jobTtl = Duration.ofMinutes(jobTtlMinutes);
+
+        AtomicInteger ids = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(r, "statement-job-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor = new DelegatingSecurityContextExecutorService(this.workers);
+    }
+
+    // ============================
+    //   SUBMIT / POLL / DOWNLOAD
+    // ============================
+    public synchronized StatementJobDto submit(String accountNumber, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        purgeExpired();
+
+        StatementJob job = new StatementJob(UUID.randomUUID().toString(), accountNumber, startDate, endDate);
+
+        if (isClosed(endDate)) {
+            Optional<Path> cached = cache.get(accountNumber, startDate, endDate);
+            if (cached.isPresent()) {
+                job.cached = true;
+                job.complete(cached.get(), false);
+                jobs.put(job.id, job);
+                return job.toDto();
+            }
+        }
+
+        // The same statement already being rendered: hand out that job instead
+        for (StatementJob other : jobs.values()) {
+            if (other.isInFlight() && other.sameStatement(job)) {
+                return other.toDto();
+            }
+        }
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            throw ex;
+        }
+        return job.toDto();
+    }
+
+    public Optional<StatementJobDto> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(StatementJob::toDto);
+    }
+
+    // Present only once the job has COMPLETED. A cached file cannot be evicted
+    // while the stream is open; NoSuchFileException if it already was.
+    public Optional<InputStream> openResult(String jobId) throws IOException {
+        StatementJob job = jobs.get(jobId);
+        if (job == null || job.status != StatementJobStatus.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(job.ownsFile ? Files.newInputStream(job.file) : cache.open(job.file));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private void run(StatementJob job) {
+        job.status = StatementJobStatus.RUNNING;
+        try {
+            Optional<AccountDto> account = reportingService.findAccount(job.accountNumber);
+            if (account.isEmpty()) {
+                job.fail("Account not found: " + job.accountNumber);
+                return;
+            }
+            StatementCache.StatementWriter writer = out -> reportingService.writePdfStatement(
+                    account.get(), job.startDate, job.endDate, out);
+
+            if (isClosed(job.endDate)) {
+                job.complete(cache.put(job.accountNumber, job.startDate, job.endDate, writer), false);
+            } else {
+                Path file = Files.createTempFile("statement-job-", ".pdf");
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    writer.write(out);
+                } catch (Exception ex) {
+                    Files.deleteIfExists(file);
+                    throw ex;
+                }
+                job.complete(file, true);
+            }
+        } catch (Exception ex) {
+            log.warn("Statement job {} for {} failed", job.id, job.accountNumber, ex);
+            job.fail(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        jobs.values().removeIf(job -> {
+            if (job.isInFlight() || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            if (job.ownsFile) {
+                try {
+                    Files.deleteIfExists(job.file);
+                } catch (IOException ex) {
+                    log.warn("Could not delete statement file {}", job.file, ex);
+                }
+            }
+            return true;
+        });
+    }
+
+    // A period that ended before today cannot gain new postings
+    private static boolean isClosed(LocalDate endDate) {
+        return endDate.isBefore(LocalDate.now());
+    }
+
+    private static final class StatementJob {
+        private final String id;
+        private final String accountNumber;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Instant submittedAt = Instant.now();
+
+        private volatile StatementJobStatus status = StatementJobStatus.PENDING;
+        private volatile boolean cached;
+        private volatile String error;
+        private volatile Path file;
+        private volatile boolean ownsFile; // a private file, deleted with the job (cache files are not)
+        private volatile Instant completedAt;
+
+        private StatementJob(String id, String accountNumber, LocalDate startDate, LocalDate endDate) {
+            this.id = id;
+            this.accountNumber = accountNumber;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        private boolean isInFlight() {
+            return status == StatementJobStatus.PENDING || status == StatementJobStatus.RUNNING;
+        }
+
+        private boolean sameStatement(StatementJob other) {
+            return accountNumber.equals(other.accountNumber)
+                    && startDate.equals(other.startDate)
+                    && endDate.equals(other.endDate);
+        }
+
+        private void complete(Path file, boolean ownsFile) {
+            this.file = file;
+            this.ownsFile = ownsFile;
+            this.completedAt = Instant.now();
+            this.status = StatementJobStatus.COMPLETED; // last, so pollers never see COMPLETED without a file
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            this.completedAt = Instant.now();
+            this.status = StatementJobStatus.FAILED;
+        }
+
+        private StatementJobDto toDto() {
+            StatementJobDto dto = new StatementJobDto();
+            dto.setJobId(id);
+            dto.setAccountNumber(accountNumber);
+            dto.setStartDate(startDate);
+            dto.setEndDate(endDate);
+            dto.setStatus(status);
+            dto.setCached(cached);
+            dto.setError(error);
+            dto.setSubmittedAt(submittedAt);
+            dto.setCompletedAt(completedAt);
+            return dto;
+        }
+    }
+}
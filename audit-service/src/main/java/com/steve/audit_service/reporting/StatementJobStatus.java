@@ -0,0 +1,8 @@
+package com.steve.audit_service.reporting;
+
+public enum StatementJobStatus {
+    PENDING,   // queued for a worker
+    RUNNING,
+    COMPLETED, // ready to download
+    FAILED
+}
@@ -2,11 +2,15 @@ package com.steve.audit_service.reporting.client;
 
 
 import com.steve.audit_service.reporting.dto.LedgerEntryDto;
+import com.steve.audit_service.reporting.dto.LedgerReconciliationPageDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @FeignClient(
@@ -34,4 +38,18 @@ public interface LedgerClient {
     String reconcileAccount(
             @PathVariable("accountNumber") String accountNumber   // ← new method
     );
-}
\ No newline at end of file
+
+    // Matches: GET /api/ledger/balance/{accountNumber} (ledger balance at the end of asOf)
+    @GetMapping("/api/ledger/balance/{accountNumber}")
+    BigDecimal getLedgerBalanceAsOf(
+            @PathVariable("accountNumber") String accountNumber,
+            @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    );
+
+    // Matches: GET /api/ledger/reconciliation/mismatches (keyset-paged, mismatches only)
+    @GetMapping("/api/ledger/reconciliation/mismatches")
+    LedgerReconciliationPageDto getReconciliationMismatches(
+            @RequestParam(value = "afterAccountNumber", required = false) String afterAccountNumber,
+            @RequestParam("size") int size
+    );
+}
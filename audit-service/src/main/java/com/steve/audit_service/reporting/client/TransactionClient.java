@@ -1,6 +1,8 @@
 package com.steve.audit_service.reporting.client;
 
+import com.steve.audit_service.reporting.dto.DailyTransactionReportDto;
 import com.steve.audit_service.reporting.dto.TransactionDto;
+import com.steve.audit_service.reporting.dto.TransactionPageDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +21,19 @@ public interface TransactionClient {
     @GetMapping("/api/transactions/all")
     List<TransactionDto> getAllTransactions();
 
+    // Totals for one day, aggregated by corebanking
+    @GetMapping("/api/transactions/summary/daily")
+    DailyTransactionReportDto getDailySummary(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    );
+
+    // One summary per day in [from, to], read from corebanking's daily rollup
+    @GetMapping("/api/transactions/summary/range")
+    List<DailyTransactionReportDto> getDailySummaries(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    );
+
     @GetMapping("/api/transactions/account/{accountNumber}")
     List<TransactionDto> getTransactionsByAccount(
             @PathVariable String accountNumber,
@@ -32,4 +47,14 @@ public interface TransactionClient {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate  // ← fix here
     );
+
+    // Same range, oldest first, a page at a time; pass nextCursor back until it is null
+    @GetMapping("/api/transactions/account/{accountNumber}/range/cursor")
+    TransactionPageDto getTransactionsByAccountAndDateRangePage(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size
+    );
 }
\ No newline at end of file
@@ -1,4 +1,16 @@
 package com.steve.audit_service.reporting.dto;
 
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Matches corebanking's GET /api/transactions/summary/daily
+@Data
 public class DailyTransactionReportDto {
+    private LocalDate date;
+    private long transactionCount;
+    private Map<String, BigDecimal> totalsByType;   // DEPOSIT / WITHDRAWAL / TRANSFER -> sum
+    private Map<String, BigDecimal> totalsByTeller; // createdBy -> sum
 }
@@ -1,4 +1,13 @@
 package com.steve.audit_service.reporting.dto;
 
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
 public class LedgerReconciliationDto {
+    private String accountNumber;
+    private BigDecimal accountBalance;
+    private BigDecimal ledgerBalance;
+    private BigDecimal variance;
 }
@@ -0,0 +1,12 @@
+package com.steve.audit_service.reporting.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LedgerReconciliationPageDto {
+    private long totalAccounts;
+    private List<LedgerReconciliationDto> mismatches;
+    private String nextAfterAccountNumber; // null on the last page
+}
@@ -0,0 +1,20 @@
+package com.steve.audit_service.reporting.dto;
+
+import com.steve.audit_service.reporting.StatementJobStatus;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+public class StatementJobDto {
+    private String jobId;
+    private String accountNumber;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private StatementJobStatus status;
+    private boolean cached;       // served from the statement cache without rendering
+    private String error;         // set when FAILED
+    private Instant submittedAt;
+    private Instant completedAt;
+}
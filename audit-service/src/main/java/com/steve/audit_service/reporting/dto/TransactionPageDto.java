@@ -0,0 +1,13 @@
+package com.steve.audit_service.reporting.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Matches corebanking's keyset-paged GET /api/transactions/account/{accountNumber}/range/cursor
+@Data
+public class TransactionPageDto {
+    private List<TransactionDto> content;
+    private boolean hasNext;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,17 @@
+-- Baseline: audit_trail as Hibernate auto-DDL created it before migrations
+-- were introduced. IF NOT EXISTS lets this run against databases that were
+-- built by ddl-auto (Flyway baselines them at version 0).
+
+CREATE TABLE IF NOT EXISTS audit_trail (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username     VARCHAR(255) NOT NULL,
+    role         VARCHAR(255) NOT NULL,
+    action_type  VARCHAR(255) NOT NULL CHECK (action_type IN
+                     ('LOGIN', 'FAILED_LOGIN', 'CREATE_ACCOUNT', 'DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'LOGOUT')),
+    resource_id  VARCHAR(255) NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    details      TEXT,
+    ip_address   VARCHAR(255),
+    timestamp    TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,19 @@
+-- Indexes behind the AuditTrailRepository lookups.
+--
+-- The concurrently placeholder expands to CONCURRENTLY in production, so
+-- PostgreSQL builds each index without blocking audit writes; this script
+-- therefore runs outside a transaction (see the .conf file). If a concurrent
+-- build fails it leaves an INVALID index behind: drop it and re-run the
+-- migration.
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_audit_trail_username_timestamp
+    ON audit_trail (username, timestamp);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_audit_trail_timestamp
+    ON audit_trail (timestamp);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_audit_trail_action_type
+    ON audit_trail (action_type);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_audit_trail_role
+    ON audit_trail (role);
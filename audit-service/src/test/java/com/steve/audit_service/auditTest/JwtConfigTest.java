@@ -0,0 +1,113 @@
+package com.steve.audit_service.auditTest;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.steve.audit_service.audit.JwtConfig;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtConfigTest {
+
+    private final KeyPair corebankingKey = rsaKeyPair();
+    private MockWebServer corebanking;
+    private JwtConfig jwtConfig;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String jwks = new JWKSet(new RSAKey.Builder((RSAPublicKey) corebankingKey.getPublic())
+                .keyID("key-1").build()).toString();
+
+        corebanking = new MockWebServer();
+        corebanking.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(jwks);
+            }
+        });
+        corebanking.start();
+
+        jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "jwkSetUri", corebanking.url("/.well-known/jwks.json").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        corebanking.shutdown();
+    }
+
+    @Test
+    void shouldVerifyTokensLocallyWithOneJwksFetch() throws Exception {
+        JwtDecoder decoder = jwtConfig.jwtDecoder();
+
+        Jwt first = decoder.decode(token(corebankingKey, "auditor01", "ROLE_AUDITOR"));
+        decoder.decode(token(corebankingKey, "auditor02", "ROLE_AUDITOR"));
+
+        assertEquals("auditor01", first.getSubject());
+        assertEquals(1, corebanking.getRequestCount());
+
+        Set<String> authorities = jwtConfig.jwtAuthenticationConverter().convert(first).getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("ROLE_AUDITOR"), authorities);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        JwtDecoder decoder = jwtConfig.jwtDecoder();
+
+        assertThrows(JwtException.class,
+                () -> decoder.decode(token(rsaKeyPair(), "auditor01", "ROLE_ADMIN")));
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static String token(KeyPair key, String username, String... roles) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(username)
+                .claim("roles", List.of(roles))
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("key-1").build(), claims);
+        jwt.sign(new RSASSASigner((RSAPrivateKey) key.getPrivate()));
+        return jwt.serialize();
+    }
+
+    private static KeyPair rsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -252,4 +252,4 @@ class TransactionClientContractTest {
         Assertions.assertEquals(LocalDateTime.of(2026,1,15,8,0,0), transactions.get(0).getCreatedAt());
         Assertions.assertEquals("teller03", transactions.get(0).getCreatedBy());
     }
-}
\ No newline at end of file
+}
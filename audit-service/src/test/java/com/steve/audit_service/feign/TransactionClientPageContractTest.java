@@ -0,0 +1,129 @@
+package com.steve.audit_service.feign;
+
+import com.steve.audit_service.reporting.client.TransactionClient;
+import com.steve.audit_service.reporting.dto.TransactionPageDto;
+import feign.Feign;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Builds TransactionClient with the same contract and decoder Spring Cloud OpenFeign
+// uses, without an application context, so the contract is checked on its own
+class TransactionClientPageContractTest {
+
+    private MockWebServer mockWebServer;
+    private TransactionClient transactionClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        HttpMessageConverters converters = new HttpMessageConverters(
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        transactionClient = Feign.builder()
+                .contract(new SpringMvcContract(List.of(), new DefaultFormattingConversionService()))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters)))
+                .target(TransactionClient.class, "http://localhost:" + mockWebServer.getPort());
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+
+    //
+    // getTransactionsByAccountAndDateRangePage(accountNumber, startDate, endDate, cursor, size)
+    //
+    @Test
+    void shouldCallPagedDateRangeEndpointAndMapResponse() throws Exception {
+
+        // ARRANGE
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("""
+                    {
+                      "content": [
+                        {
+                          "referenceId": "REF005",
+                          "accountNumber": "ACC123",
+                          "targetAccount": null,
+                          "amount": 75.00,
+                          "type": "DEPOSIT",
+                          "narration": "Card top-up",
+                          "createdAt": "2026-01-20T12:00:00",
+                          "createdBy": "teller01"
+                        }
+                      ],
+                      "hasNext": true,
+                      "nextCursor": "abc123"
+                    }
+                """)
+        );
+
+        // ACT
+        TransactionPageDto page = transactionClient.getTransactionsByAccountAndDateRangePage(
+                "ACC123",
+                LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 1, 31),
+                "prev",
+                500
+        );
+        RecordedRequest request = mockWebServer.takeRequest(3, TimeUnit.SECONDS);
+
+        //  ASSERT: Request
+        assertNotNull(request,                       "No request received by MockWebServer");
+        Assertions.assertEquals("GET", request.getMethod());
+        Assertions.assertEquals(
+                "/api/transactions/account/ACC123/range/cursor?startDate=2026-01-01&endDate=2026-01-31&cursor=prev&size=500",
+                request.getPath());
+
+        // ASSERT: Response
+        Assertions.assertEquals(1, page.getContent().size());
+        Assertions.assertEquals("REF005", page.getContent().get(0).getReferenceId());
+        Assertions.assertEquals(LocalDateTime.of(2026,1,20,12,0,0), page.getContent().get(0).getCreatedAt());
+        Assertions.assertTrue(page.isHasNext());
+        Assertions.assertEquals("abc123", page.getNextCursor());
+    }
+
+    @Test
+    void shouldOmitCursorOnTheFirstPage() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"content\": [], \"hasNext\": false, \"nextCursor\": null}"));
+
+        TransactionPageDto page = transactionClient.getTransactionsByAccountAndDateRangePage(
+                "ACC123", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), null, 500);
+        RecordedRequest request = mockWebServer.takeRequest(3, TimeUnit.SECONDS);
+
+        assertNotNull(request);
+        Assertions.assertEquals(
+                "/api/transactions/account/ACC123/range/cursor?startDate=2026-01-01&endDate=2026-01-31&size=500",
+                request.getPath());
+        Assertions.assertTrue(page.getContent().isEmpty());
+        Assertions.assertNull(page.getNextCursor());
+    }
+}
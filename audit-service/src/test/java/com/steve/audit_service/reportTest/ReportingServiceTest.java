@@ -7,6 +7,8 @@ import com.steve.audit_service.reporting.ReportingService;
 import com.steve.audit_service.reporting.client.AccountClient;
 import com.steve.audit_service.reporting.client.LedgerClient;
 import com.steve.audit_service.reporting.client.TransactionClient;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
 import com.steve.audit_service.reporting.dto.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,16 +18,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,20 +61,15 @@ class ReportingServiceTest {
     void generateDailyTransactionReport_shouldAggregateCorrectly() {
         LocalDate date = LocalDate.now();
 
-        TransactionDto deposit = new TransactionDto();
-        deposit.setType("DEPOSIT");
-        deposit.setAmount(new BigDecimal("100"));
-        deposit.setCreatedAt(date.atTime(10, 0));
-        deposit.setCreatedBy("teller1");
+        DailyTransactionReportDto summary = new DailyTransactionReportDto();
+        summary.setDate(date);
+        summary.setTransactionCount(2);
+        summary.setTotalsByType(Map.of(
+                "DEPOSIT", new BigDecimal("100"),
+                "WITHDRAWAL", new BigDecimal("50")));
+        summary.setTotalsByTeller(Map.of("teller1", new BigDecimal("150")));
 
-        TransactionDto withdrawal = new TransactionDto();
-        withdrawal.setType("WITHDRAWAL");
-        withdrawal.setAmount(new BigDecimal("50"));
-        withdrawal.setCreatedAt(date.atTime(12, 0));
-        withdrawal.setCreatedBy("teller1");
-
-        when(transactionClient.getAllTransactions())
-                .thenReturn(List.of(deposit, withdrawal));
+        when(transactionClient.getDailySummary(date)).thenReturn(summary);
 
         Map<String, Object> report =
                 reportingService.generateDailyTransactionReport(date);
@@ -76,34 +82,101 @@ class ReportingServiceTest {
                 (Map<String, BigDecimal>) report.get("tellerKPIs");
 
         assertEquals(new BigDecimal("150"), tellerKPIs.get("teller1"));
+        verify(transactionClient, never()).getAllTransactions();
     }
 
     @Test
-    void generateLedgerReconciliationReport_shouldDetectMismatch() {
-        AccountDto account = new AccountDto();
-        account.setAccountNumber("ACC123");
-        account.setBalance(new BigDecimal("100"));
+    void generateTransactionRangeReport_shouldSumDailyRollups() {
+        LocalDate monday = LocalDate.of(2025, 3, 31);
 
-        LedgerEntryDto credit = new LedgerEntryDto();
-        credit.setAmount(new BigDecimal("80"));
-        credit.setEntryType(EntryType.CREDIT);
+        DailyTransactionReportDto first = new DailyTransactionReportDto();
+        first.setDate(monday);
+        first.setTransactionCount(3);
+        first.setTotalsByType(Map.of("DEPOSIT", new BigDecimal("100"), "TRANSFER", new BigDecimal("20")));
+        first.setTotalsByTeller(Map.of("teller1", new BigDecimal("120")));
 
-        when(accountClient.fetchAccounts())
-                .thenReturn(List.of(account));
+        DailyTransactionReportDto second = new DailyTransactionReportDto();
+        second.setDate(monday.plusDays(1));
+        second.setTransactionCount(1);
+        second.setTotalsByType(Map.of("DEPOSIT", new BigDecimal("5")));
+        second.setTotalsByTeller(Map.of("teller1", new BigDecimal("5")));
 
-        when(ledgerClient.getLedgerEntries("ACC123"))
-                .thenReturn(List.of(credit));
+        when(transactionClient.getDailySummaries(monday, monday.plusDays(1)))
+                .thenReturn(List.of(first, second));
+
+        Map<String, Object> report =
+                reportingService.generateTransactionRangeReport(monday, monday.plusDays(1));
+
+        assertEquals(4L, report.get("transactionCount"));
+        assertEquals(new BigDecimal("105"), report.get("totalDeposits"));
+        assertEquals(new BigDecimal("20"), report.get("totalTransfers"));
+        assertEquals(BigDecimal.ZERO, report.get("totalWithdrawals"));
+        assertEquals(new BigDecimal("125"), ((Map<?, ?>) report.get("tellerKPIs")).get("teller1"));
+        assertEquals(2, ((List<?>) report.get("days")).size());
+        verify(transactionClient, never()).getAllTransactions();
+    }
+
+    @Test
+    void generateLedgerReconciliationReport_shouldDetectMismatch() {
+        LedgerReconciliationDto mismatch = new LedgerReconciliationDto();
+        mismatch.setAccountNumber("ACC123");
+        mismatch.setAccountBalance(new BigDecimal("100"));
+        mismatch.setLedgerBalance(new BigDecimal("80"));
+        mismatch.setVariance(new BigDecimal("20"));
+
+        LedgerReconciliationPageDto page = new LedgerReconciliationPageDto();
+        page.setTotalAccounts(1);
+        page.setMismatches(List.of(mismatch));
+
+        when(ledgerClient.getReconciliationMismatches(isNull(), anyInt()))
+                .thenReturn(page);
 
         Map<String, Object> report =
                 reportingService.generateLedgerReconciliationReport();
 
-        assertEquals(1, report.get("totalAccounts"));
+        assertEquals(1L, report.get("totalAccounts"));
         assertEquals(1, report.get("totalMismatches"));
 
         List<?> mismatches =
                 (List<?>) report.get("mismatchedAccounts");
 
         assertEquals(1, mismatches.size());
+        assertEquals(new BigDecimal("20"), ((Map<?, ?>) mismatches.get(0)).get("variance"));
+        verify(ledgerClient, never()).getLedgerEntries(anyString());
+    }
+
+    @Test
+    void generateLedgerReconciliationReport_shouldFollowPagesUntilExhausted() {
+        LedgerReconciliationDto first = new LedgerReconciliationDto();
+        first.setAccountNumber("ACC001");
+        first.setAccountBalance(BigDecimal.TEN);
+        first.setLedgerBalance(BigDecimal.ZERO);
+        first.setVariance(BigDecimal.TEN);
+
+        LedgerReconciliationDto second = new LedgerReconciliationDto();
+        second.setAccountNumber("ACC900");
+        second.setAccountBalance(BigDecimal.ZERO);
+        second.setLedgerBalance(BigDecimal.ONE);
+        second.setVariance(BigDecimal.ONE.negate());
+
+        LedgerReconciliationPageDto page1 = new LedgerReconciliationPageDto();
+        page1.setTotalAccounts(5000);
+        page1.setMismatches(List.of(first));
+        page1.setNextAfterAccountNumber("ACC001");
+
+        LedgerReconciliationPageDto page2 = new LedgerReconciliationPageDto();
+        page2.setTotalAccounts(5000);
+        page2.setMismatches(List.of(second));
+
+        when(ledgerClient.getReconciliationMismatches(isNull(), anyInt())).thenReturn(page1);
+        when(ledgerClient.getReconciliationMismatches(eq("ACC001"), anyInt())).thenReturn(page2);
+
+        Map<String, Object> report =
+                reportingService.generateLedgerReconciliationReport();
+
+        assertEquals(5000L, report.get("totalAccounts"));
+        assertEquals(2, report.get("totalMismatches"));
+        verifyNoInteractions(accountClient);
     }
 
     @Test
@@ -156,6 +229,72 @@ class ReportingServiceTest {
         assertTrue(response.getBody() instanceof AccountStatementDto);
     }
 
+    @Test
+    void writePdfStatement_shouldFollowCursorPagesAndRenderEveryRow() throws Exception {
+        AccountDto account = new AccountDto();
+        account.setAccountNumber("ACC123");
+        account.setBalance(new BigDecimal("500"));
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+
+        when(transactionClient.getTransactionsByAccountAndDateRangePage(
+                eq("ACC123"), eq(from), eq(to), isNull(), anyInt()))
+                .thenReturn(statementPage("c1", 0, 120));
+        when(transactionClient.getTransactionsByAccountAndDateRangePage(
+                eq("ACC123"), eq(from), eq(to), eq("c1"), anyInt()))
+                .thenReturn(statementPage(null, 120, 30));
+        when(ledgerClient.getLedgerBalanceAsOf("ACC123", to)).thenReturn(new BigDecimal("1500.00"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportingService.writePdfStatement(account, from, to, out);
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        StringBuilder text = new StringBuilder();
+        for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+            text.append(PdfTextExtractor.getTextFromPage(reader, page));
+        }
+        assertTrue(reader.getNumberOfPages() > 1);
+        assertTrue(text.toString().contains("Closing Balance (2026-12-31): 1500.00")); // not the live 500
+        assertTrue(text.toString().contains("REF000"));
+        assertTrue(text.toString().contains("REF149"));
+        verify(transactionClient, never()).getTransactionsByAccountAndDateRange(anyString(), any(), any());
+    }
+
+    @Test
+    void writePdfStatement_shouldWriteNothingWhenTheFirstPageFails() {
+        AccountDto account = new AccountDto();
+        account.setAccountNumber("ACC123");
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+
+        when(transactionClient.getTransactionsByAccountAndDateRangePage(
+                eq("ACC123"), eq(from), eq(to), isNull(), anyInt()))
+                .thenThrow(new IllegalStateException("corebanking down"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalStateException.class,
+                () -> reportingService.writePdfStatement(account, from, to, out));
+        assertEquals(0, out.size());
+    }
+
+    private static TransactionPageDto statementPage(String nextCursor, int first, int count) {
+        List<TransactionDto> content = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            TransactionDto tx = new TransactionDto();
+            tx.setType("DEPOSIT");
+            tx.setReferenceId(String.format("REF%03d", i));
+            tx.setAccountNumber("ACC123");
+            tx.setAmount(new BigDecimal("10.00"));
+            tx.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i));
+            content.add(tx);
+        }
+        TransactionPageDto page = new TransactionPageDto();
+        page.setContent(content);
+        page.setHasNext(nextCursor != null);
+        page.setNextCursor(nextCursor);
+        return page;
+    }
+
 
 
 }
\ No newline at end of file
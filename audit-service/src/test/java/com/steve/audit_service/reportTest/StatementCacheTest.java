@@ -0,0 +1,96 @@
+package com.steve.audit_service.reportTest;
+
+import com.steve.audit_service.reporting.StatementCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCacheTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(2026, 1, 31);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldServeAStoredStatementByAccountAndRange() throws Exception {
+        StatementCache cache = new StatementCache(dir.toString(), 1_000);
+
+        cache.put("ACC1", JAN_1, JAN_31, out -> out.write(new byte[100]));
+
+        assertTrue(cache.get("ACC1", JAN_1, JAN_31).isPresent());
+        assertFalse(cache.get("ACC1", JAN_1, JAN_1).isPresent());
+        assertFalse(cache.get("ACC2", JAN_1, JAN_31).isPresent());
+        assertEquals(100, cache.getTotalBytes());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedOnceOverTheSizeLimit() throws Exception {
+        StatementCache cache = new StatementCache(dir.toString(), 250);
+
+        cache.put("ACC1", JAN_1, JAN_31, out -> out.write(new byte[100]));
+        cache.put("ACC2", JAN_1, JAN_31, out -> out.write(new byte[100]));
+        cache.get("ACC1", JAN_1, JAN_31); // ACC2 is now the least recently used
+        cache.put("ACC3", JAN_1, JAN_31, out -> out.write(new byte[100]));
+
+        assertTrue(cache.get("ACC1", JAN_1, JAN_31).isPresent());
+        assertFalse(cache.get("ACC2", JAN_1, JAN_31).isPresent());
+        assertTrue(cache.get("ACC3", JAN_1, JAN_31).isPresent());
+        assertEquals(200, cache.getTotalBytes());
+    }
+
+    @Test
+    void fileBeingDownloadedShouldOutliveEvictionUntilClosed() throws Exception {
+        StatementCache cache = new StatementCache(dir.toString(), 150);
+
+        Path file = cache.put("ACC1", JAN_1, JAN_31, out -> out.write(new byte[100]));
+        InputStream download = cache.open(file);
+        cache.put("ACC2", JAN_1, JAN_31, out -> out.write(new byte[100]));
+
+        assertTrue(Files.exists(file));
+        assertEquals(200, cache.getTotalBytes());
+        assertEquals(100, download.readAllBytes().length);
+
+        download.close();
+        assertFalse(Files.exists(file));
+        assertFalse(cache.get("ACC1", JAN_1, JAN_31).isPresent());
+        assertEquals(100, cache.getTotalBytes());
+        assertThrows(NoSuchFileException.class, () -> cache.open(file));
+    }
+
+    @Test
+    void failedWriteShouldLeaveNothingBehind() throws Exception {
+        StatementCache cache = new StatementCache(dir.toString(), 1_000);
+
+        assertThrows(IllegalStateException.class, () -> cache.put("ACC1", JAN_1, JAN_31, out -> {
+            out.write(new byte[10]);
+            throw new IllegalStateException("corebanking down");
+        }));
+
+        assertFalse(cache.get("ACC1", JAN_1, JAN_31).isPresent());
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldReloadExistingFilesAfterARestart() throws Exception {
+        new StatementCache(dir.toString(), 1_000).put("ACC/1", JAN_1, JAN_31, out -> out.write(new byte[40]));
+
+        StatementCache restarted = new StatementCache(dir.toString(), 1_000);
+
+        assertTrue(restarted.get("ACC/1", JAN_1, JAN_31).isPresent());
+        assertEquals(40, restarted.getTotalBytes());
+    }
+}
@@ -0,0 +1,151 @@
+package com.steve.audit_service.reportTest;
+
+import com.steve.audit_service.reporting.ReportingService;
+import com.steve.audit_service.reporting.StatementCache;
+import com.steve.audit_service.reporting.StatementJobService;
+import com.steve.audit_service.reporting.StatementJobStatus;
+import com.steve.audit_service.reporting.dto.AccountDto;
+import com.steve.audit_service.reporting.dto.StatementJobDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatementJobServiceTest {
+
+    private static final LocalDate START = LocalDate.now().minusMonths(2).withDayOfMonth(1);
+    private static final LocalDate END = START.plusMonths(1).minusDays(1); // a closed period
+
+    @TempDir
+    Path dir;
+
+    private final ReportingService reportingService = mock(ReportingService.class);
+    private StatementJobService jobService;
+    private AccountDto account;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        account = new AccountDto();
+        account.setAccountNumber("ACC1");
+        when(reportingService.findAccount("ACC1")).thenReturn(Optional.of(account));
+        when(reportingService.findAccount("MISSING")).thenReturn(Optional.empty());
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(3).write("%PDF-statement".getBytes());
+            return null;
+        }).when(reportingService).writePdfStatement(eq(account), any(), any(), any());
+
+        jobService = new StatementJobService(reportingService, new StatementCache(dir.toString(), 1_000_000), 2, 2, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void repeatRequestForAClosedPeriodShouldBeServedFromTheCache() throws Exception {
+        StatementJobDto first = awaitDone(jobService.submit("ACC1", START, END));
+        StatementJobDto repeat = jobService.submit("ACC1", START, END);
+
+        assertEquals(StatementJobStatus.COMPLETED, first.getStatus());
+        assertFalse(first.isCached());
+        assertEquals(StatementJobStatus.COMPLETED, repeat.getStatus());
+        assertTrue(repeat.isCached());
+        assertArrayEquals("%PDF-statement".getBytes(), readResult(repeat.getJobId()));
+        verify(reportingService, times(1)).writePdfStatement(any(), any(), any(), any());
+    }
+
+    @Test
+    void openPeriodShouldBeRenderedEveryTime() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        awaitDone(jobService.submit("ACC1", today.withDayOfMonth(1), today));
+        StatementJobDto second = awaitDone(jobService.submit("ACC1", today.withDayOfMonth(1), today));
+
+        assertFalse(second.isCached());
+        assertArrayEquals("%PDF-statement".getBytes(), readResult(second.getJobId()));
+        verify(reportingService, times(2)).writePdfStatement(any(), any(), any(), any());
+    }
+
+    @Test
+    void unknownAccountShouldFailTheJob() throws Exception {
+        StatementJobDto job = awaitDone(jobService.submit("MISSING", START, END));
+
+        assertEquals(StatementJobStatus.FAILED, job.getStatus());
+        assertEquals("Account not found: MISSING", job.getError());
+        assertFalse(jobService.openResult(job.getJobId()).isPresent());
+    }
+
+    @Test
+    void sameStatementInFlightShouldShareOneJobAndAFullQueueShouldReject() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(reportingService).writePdfStatement(eq(account), any(), any(), any());
+
+        StatementJobDto first = jobService.submit("ACC1", START, END);
+        StatementJobDto duplicate = jobService.submit("ACC1", START, END);
+        assertEquals(first.getJobId(), duplicate.getJobId());
+
+        // Two workers and a queue of two: the fifth distinct statement does not fit
+        for (int i = 1; i <= 3; i++) {
+            jobService.submit("ACC1", START.minusMonths(i), END.minusMonths(i));
+        }
+        assertThrows(RejectedExecutionException.class,
+                () -> jobService.submit("ACC1", START.minusMonths(4), END.minusMonths(4)));
+
+        release.countDown();
+        assertEquals(StatementJobStatus.COMPLETED, awaitDone(first).getStatus());
+    }
+
+    @Test
+    void invertedRangeShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit("ACC1", END, START));
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private byte[] readResult(String jobId) throws IOException {
+        try (InputStream in = jobService.openResult(jobId).orElseThrow()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private StatementJobDto awaitDone(StatementJobDto submitted) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        StatementJobDto job = submitted;
+        while (job.getStatus() == StatementJobStatus.PENDING || job.getStatus() == StatementJobStatus.RUNNING) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Job " + job.getJobId() + " did not finish");
+            }
+            Thread.sleep(10);
+            job = jobService.find(submitted.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+}
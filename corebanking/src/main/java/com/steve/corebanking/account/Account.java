@@ -3,6 +3,7 @@ package com.steve.corebanking.account;
 import com.steve.corebanking.customer.Customer;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -22,6 +23,11 @@ public class Account {
 
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "customer_id")
     private Customer customer;
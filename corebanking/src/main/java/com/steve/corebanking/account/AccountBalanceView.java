@@ -0,0 +1,10 @@
+package com.steve.corebanking.account;
+
+import java.math.BigDecimal;
+
+// Lightweight projection for bulk balance reads; avoids loading the customer of every account
+public interface AccountBalanceView {
+    String getAccountNumber();
+    BigDecimal getBalance();
+    Long getVersion();
+}
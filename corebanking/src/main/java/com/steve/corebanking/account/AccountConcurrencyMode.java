@@ -0,0 +1,6 @@
+package com.steve.corebanking.account;
+
+public enum AccountConcurrencyMode {
+    STRIPED,    // per-account in-process locks, version check as a backstop
+    OPTIMISTIC  // no locks; conflicting writers are detected by @Version and retried
+}
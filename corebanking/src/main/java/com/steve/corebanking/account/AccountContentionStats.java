@@ -0,0 +1,13 @@
+package com.steve.corebanking.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AccountContentionStats {
+    private String accountNumber;
+    private long conflicts; // optimistic lock failures seen
+    private long retries;   // attempts re-run after a conflict
+    private long exhausted; // gave up after the last attempt
+}
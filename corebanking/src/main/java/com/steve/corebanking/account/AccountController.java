@@ -4,14 +4,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/accounts")
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountRetryExecutor accountRetryExecutor;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, AccountRetryExecutor accountRetryExecutor) {
         this.accountService = accountService;
+        this.accountRetryExecutor = accountRetryExecutor;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -30,6 +34,14 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getAllAccounts());
     }
 
+    // Accounts with the most optimistic-lock conflicts first (batch postings; single postings cannot conflict)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/contention")
+    public ResponseEntity<List<AccountContentionStats>> contention() {
+
+        return ResponseEntity.ok(accountRetryExecutor.getContentionStats());
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<?> getOne(@PathVariable Long id) {
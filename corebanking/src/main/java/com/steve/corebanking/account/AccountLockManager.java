@@ -0,0 +1,86 @@
+package com.steve.corebanking.account;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes balance mutations per account instead of globally.
+ *
+ * Every account number maps onto one of a fixed number of lock stripes, so
+ * only transactions touching the same accounts (or colliding stripes) wait
+ * for each other. Stripes are always acquired in ascending stripe order,
+ * which gives every caller the same global ordering and keeps concurrent
+ * transfers in opposite directions from deadlocking.
+ *
+ * The locks are in-process only; they protect a single corebanking instance.
+ * In {@link AccountConcurrencyMode#OPTIMISTIC} mode no locks are taken at all
+ * and concurrent writers are caught by the version column on {@link Account}.
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final AccountConcurrencyMode mode;
+
+    public AccountLockManager(int stripeCount) {
+        this(stripeCount, AccountConcurrencyMode.STRIPED);
+    }
+
+    @Autowired
+    public AccountLockManager(@Value("${corebanking.account-locks.stripes:1024}") int stripeCount,
+                              @Value("${corebanking.account-concurrency.mode:STRIPED}") AccountConcurrencyMode mode) {
+        this.mode = mode;
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be greater than 0");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // ============================
+    //   RUN WHILE HOLDING LOCKS
+    // ============================
+    public <T> T withLocks(Collection<String> accountNumbers, Supplier<T> action) {
+        if (mode == AccountConcurrencyMode.OPTIMISTIC) {
+            return action.get();
+        }
+
+        int[] order = stripesFor(accountNumbers);
+
+        int acquired = 0;
+        try {
+            for (int stripe : order) {
+                stripes[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[order[i]].unlock();
+            }
+        }
+    }
+
+    int stripeFor(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), stripes.length);
+    }
+
+    // Distinct stripes in ascending order; null account numbers are ignored
+    private int[] stripesFor(Collection<String> accountNumbers) {
+        return accountNumbers.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeFor)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+}
@@ -0,0 +1,110 @@
+package com.steve.corebanking.account;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a balance-mutating unit of work when another writer changed one of
+ * its accounts first (a version conflict on {@link Account}).
+ *
+ * The unit of work must open and commit its own database transaction: after a
+ * version conflict the persistence context is unusable, so retrying only the
+ * debit or credit call inside the same transaction cannot succeed.
+ */
+@Component
+public class AccountRetryExecutor {
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Map<String, Counters> contention = new ConcurrentHashMap<>();
+
+    public AccountRetryExecutor(@Value("${corebanking.account-retry.max-attempts:5}") int maxAttempts,
+                                @Value("${corebanking.account-retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                @Value("${corebanking.account-retry.max-backoff-ms:200}") long maxBackoffMs) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be greater than 0");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    // ============================
+    //   RUN WITH RETRY
+    // ============================
+    public <T> T execute(Collection<String> accountNumbers, Supplier<T> unitOfWork) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return unitOfWork.get();
+            } catch (OptimisticLockingFailureException ex) {
+                record(accountNumbers, c -> c.conflicts.increment());
+
+                if (attempt >= maxAttempts) {
+                    record(accountNumbers, c -> c.exhausted.increment());
+                    throw ex;
+                }
+
+                record(accountNumbers, c -> c.retries.increment());
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    // ============================
+    //   CONTENTION COUNTERS
+    // ============================
+    public List<AccountContentionStats> getContentionStats() {
+        return contention.entrySet().stream()
+                .map(e -> new AccountContentionStats(
+                        e.getKey(),
+                        e.getValue().conflicts.sum(),
+                        e.getValue().retries.sum(),
+                        e.getValue().exhausted.sum()))
+                .sorted(Comparator.comparingLong(AccountContentionStats::getConflicts).reversed())
+                .toList();
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private void record(Collection<String> accountNumbers, Consumer<Counters> update) {
+        accountNumbers.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(acc -> update.accept(contention.computeIfAbsent(acc, k -> new Counters())));
+    }
+
+    // Exponential backoff with full jitter so retrying tellers spread out
+    private void backOff(int attempt, OptimisticLockingFailureException cause) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -35,36 +35,32 @@ public class AccountService {
 
     //      CREDIT ACCOUNT
     @Transactional
-    public Account creditAccount(String accountNumber, BigDecimal amount) {
+    public void creditAccount(String accountNumber, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
 
-        Account acc = getByAccountNumber(accountNumber);
-
-        acc.setBalance(acc.getBalance().add(amount));
-        return accountRepository.save(acc);
+        if (accountRepository.credit(accountNumber, amount) == 0) {
+            throw new NotFoundException("Account not found with number: " + accountNumber);
+        }
     }
 
     // ============================
     //      DEBIT ACCOUNT
     // ============================
     @Transactional
-    public Account debitAccount(String accountNumber, BigDecimal amount) {
+    public void debitAccount(String accountNumber, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
 
-        Account acc = getByAccountNumber(accountNumber);
-
-        BigDecimal newBalance = acc.getBalance().subtract(amount);
-
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+        // The overdraft check happens inside the UPDATE; only a miss costs a second query
+        if (accountRepository.debitIfSufficient(accountNumber, amount) == 0) {
+            if (!accountRepository.existsByAccountNumber(accountNumber)) {
+                throw new NotFoundException("Account not found with number: " + accountNumber);
+            }
             throw new InsufficientFundsException("Insufficient funds for account: " + accountNumber);
         }
-
-        acc.setBalance(newBalance);
-        return accountRepository.save(acc);
     }
 
     // ============================
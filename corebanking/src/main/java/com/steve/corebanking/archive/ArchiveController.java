@@ -0,0 +1,26 @@
+package com.steve.corebanking.archive;
+
+import com.steve.corebanking.archive.dto.ArchiveRunDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    public ArchiveController(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    // Run the archive job now instead of waiting for the nightly schedule
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/run")
+    public ResponseEntity<ArchiveRunDto> run() {
+        return ResponseEntity.ok(archiveService.archive());
+    }
+}
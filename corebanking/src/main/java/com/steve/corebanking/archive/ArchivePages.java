@@ -0,0 +1,34 @@
+package com.steve.corebanking.archive;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Offset pages over hot and archived rows together. Each tier is asked for its
+ * first (page + 1) * size rows in the page's order; the merged page is then
+ * cut from their union, so the cost matches an OFFSET query on one table.
+ */
+public final class ArchivePages {
+
+    private ArchivePages() {
+    }
+
+    public static int rowsNeeded(int page, int size) {
+        return Math.multiplyExact(page + 1, size);
+    }
+
+    public static <T> Page<T> merge(List<T> hot, List<T> archived, Comparator<? super T> order,
+                                    int page, int size, long total) {
+        List<T> content = Stream.concat(hot.stream(), archived.stream())
+                .sorted(order)
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+        return new PageImpl<>(content, PageRequest.of(page, size), total);
+    }
+}
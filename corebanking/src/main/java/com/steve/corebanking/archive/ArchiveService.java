@@ -0,0 +1,162 @@
+package com.steve.corebanking.archive;
+
+import com.steve.corebanking.archive.dto.ArchiveRunDto;
+import com.steve.corebanking.ledger.LedgerEntryArchiveRepository;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.transaction.TransactionArchiveRepository;
+import com.steve.corebanking.transaction.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Moves Transaction and LedgerEntry rows older than the hot horizon into
+ * transaction_archive and ledger_entry_archive, and tells read paths whether
+ * their range reaches the archive at all.
+ *
+ * Rows move in batches; each batch is copied and deleted in one database
+ * transaction, so a reader sees every row in exactly one of the two tiers.
+ * The watermark is raised before the first batch moves, so a reader that
+ * checks it never misses rows that are already in the archive.
+ *
+ * Ledger entries only move once their account's balance checkpoint covers
+ * them; entries of accounts without a recent checkpoint stay hot.
+ */
+@Service
+public class ArchiveService {
+
+    public static final String TRANSACTIONS = "transaction";
+    public static final String LEDGER_ENTRIES = "ledger_entry";
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final LedgerRepository ledgerRepository;
+    private final LedgerEntryArchiveRepository ledgerEntryArchiveRepository;
+    private final ArchiveWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int batchSize;
+
+    public ArchiveService(TransactionRepository transactionRepository,
+                          TransactionArchiveRepository transactionArchiveRepository,
+                          LedgerRepository ledgerRepository,
+                          LedgerEntryArchiveRepository ledgerEntryArchiveRepository,
+                          ArchiveWatermarkRepository watermarkRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${corebanking.archive.enabled:true}") boolean enabled,
+                          @Value("${corebanking.archive.horizon-days:90}") int horizonDays,
+                          @Value("${corebanking.archive.batch-size:1000}") int batchSize) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Archive horizon must be greater than 0 days");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Archive batch size must be greater than 0");
+        }
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.ledgerEntryArchiveRepository = ledgerEntryArchiveRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    // ============================
+    //   TIER LOOKUP
+    // ============================
+    // True when rows created at or after `from` (null: unbounded) may be archived
+    public boolean reachesArchive(String table, LocalDateTime from) {
+        return archivedBefore(table)
+                .map(watermark -> from == null || from.isBefore(watermark))
+                .orElse(false);
+    }
+
+    public Optional<LocalDateTime> archivedBefore(String table) {
+        return watermarkRepository.findById(table).map(ArchiveWatermark::getArchivedBefore);
+    }
+
+    // ============================
+    //   MOVE ROWS TO THE ARCHIVE
+    // ============================
+    @Scheduled(cron = "${corebanking.archive.cron:0 30 1 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    public synchronized ArchiveRunDto archive() {
+        LocalDateTime before = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+
+        ArchiveRunDto run = new ArchiveRunDto();
+        run.setArchivedBefore(before);
+
+        raiseWatermark(TRANSACTIONS, before);
+        run.setTransactions(moveInBatches(limit -> transactionRepository.findIdsCreatedBefore(before, limit),
+                ids -> {
+                    int copied = transactionArchiveRepository.copyFromHot(ids, before);
+                    return checkMoved(copied, transactionRepository.deleteArchived(ids, before));
+                }));
+
+        raiseWatermark(LEDGER_ENTRIES, before);
+        run.setLedgerEntries(moveInBatches(limit -> ledgerRepository.findArchivableIds(before, limit),
+                ids -> {
+                    int copied = ledgerEntryArchiveRepository.copyFromHot(ids, before);
+                    return checkMoved(copied, ledgerRepository.deleteArchived(ids, before));
+                }));
+
+        return run;
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private void raiseWatermark(String table, LocalDateTime before) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ArchiveWatermark watermark = watermarkRepository.findById(table).orElseGet(() -> {
+                ArchiveWatermark created = new ArchiveWatermark();
+                created.setTableName(table);
+                created.setArchivedBefore(before);
+                return created;
+            });
+            if (watermark.getArchivedBefore().isBefore(before)) {
+                watermark.setArchivedBefore(before);
+            }
+            watermarkRepository.save(watermark);
+        });
+    }
+
+    private long moveInBatches(Function<Limit, List<Long>> nextBatch, Function<List<Long>, Integer> move) {
+        long moved = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> ids = nextBatch.apply(Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : move.apply(ids);
+            });
+            moved += batch;
+            if (batch < batchSize) {
+                return moved;
+            }
+        }
+    }
+
+    // A mismatch means the rows changed between copy and delete; roll the batch back
+    private static int checkMoved(int copied, int deleted) {
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " rows but removed " + deleted);
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,20 @@
+package com.steve.corebanking.archive;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Per hot table: every archived row was created before archivedBefore, so a
+// read whose range starts at or after it never has to look at the archive.
+// Only ever moves forward.
+@Entity
+@Data
+public class ArchiveWatermark {
+
+    @Id
+    private String tableName;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedBefore;
+}
@@ -0,0 +1,6 @@
+package com.steve.corebanking.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchiveWatermarkRepository extends JpaRepository<ArchiveWatermark, String> {
+}
@@ -0,0 +1,12 @@
+package com.steve.corebanking.archive.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ArchiveRunDto {
+    private LocalDateTime archivedBefore;
+    private long transactions;   // rows moved to transaction_archive
+    private long ledgerEntries;  // rows moved to ledger_entry_archive
+}
@@ -0,0 +1,18 @@
+package com.steve.corebanking.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Counters of the verified-token and user-details caches, for sizing them
+@Data
+@AllArgsConstructor
+public class AuthCacheStats {
+    private int size;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private double hitRate;     // hits / (hits + misses), 0 before the first lookup
+    private long expirations;   // dropped once expired
+    private long evictions;     // dropped to make room
+    private long invalidations; // dropped after a role change
+}
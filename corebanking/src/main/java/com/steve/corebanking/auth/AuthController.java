@@ -17,15 +17,20 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
+    private final VerifiedTokenCache tokenCache;
+    private final CustomUserDetailsService userDetailsService;
 
     public AuthController(AuthService authService, JwtUtil jwtUtil, AuthRepository userRepository,
-                          RoleRepository roleRepository, PasswordEncoder passwordEncoder, UserService userService) {
+                          RoleRepository roleRepository, PasswordEncoder passwordEncoder, UserService userService,
+                          VerifiedTokenCache tokenCache, CustomUserDetailsService userDetailsService) {
         this.authService = authService;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.roleRepository =  roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.userService = userService;
+        this.tokenCache = tokenCache;
+        this.userDetailsService = userDetailsService;
     }
 
     @PostMapping("/register")
@@ -69,6 +74,7 @@ public class AuthController {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        userService.evictCachedUser(user.getUsername());
 
         return ResponseEntity.ok("Role assigned");
     }
@@ -92,4 +98,18 @@ public class AuthController {
         return ResponseEntity.ok("User role updated");
     }
 
-}
\ No newline at end of file
+    // Hit rate and evictions of the verified-token cache in JwtFilter
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/token-cache")
+    public ResponseEntity<AuthCacheStats> tokenCacheStats() {
+        return ResponseEntity.ok(tokenCache.getStats());
+    }
+
+    // Same counters for the user-details cache behind login and JwtFilter
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/user-cache")
+    public ResponseEntity<AuthCacheStats> userCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+
+}
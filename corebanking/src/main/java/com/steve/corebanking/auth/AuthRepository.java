@@ -10,6 +10,10 @@ public interface AuthRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
 
+    // Id only, without loading the user or joining their roles
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
 
     @Query("""
         SELECT COUNT(u) > 0
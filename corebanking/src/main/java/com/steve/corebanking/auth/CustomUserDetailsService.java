@@ -1,25 +1,88 @@
 package com.steve.corebanking.auth;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+/**
+ * Loads users with their roles for login and for JwtFilter.
+ *
+ * Loaded users are kept for ttl, up to maxEntries with the least recently
+ * used dropped first, so a teller's requests do not each select the user and
+ * join their roles. Role changes must call {@link #evict(String)}; JwtFilter
+ * authorizes with these roles, so an evict is what makes a change take effect.
+ * Each evict bumps the user's generation, and a load only caches what it read
+ * if no evict happened meanwhile, so a load racing a role change cannot put
+ * the old roles back.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AuthRepository userRepository;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, Long> generations = new HashMap<>(); // evicts per username; one per user ever evicted
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public CustomUserDetailsService(AuthRepository userRepository,
+                                    @Value("${corebanking.auth.user-details-cache-max-entries:10000}") int maxEntries,
+                                    @Value("${corebanking.auth.user-details-cache-ttl-seconds:300}") long ttlSeconds) {
+        this(userRepository, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
 
-    public CustomUserDetailsService(AuthRepository userRepository) {
+    CustomUserDetailsService(AuthRepository userRepository, int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
         this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean full = size() > CustomUserDetailsService.this.maxEntries;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = cached(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generation(username); // read before the database, checked before caching
+
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
@@ -27,11 +90,69 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(role -> new SimpleGrantedAuthority(role.getName()))
                 .collect(Collectors.toSet());
 
-        System.out.println("==== SECURITY DEBUG ====");
-        System.out.println("Username: " + user.getUsername());
-        authorities.forEach(a -> System.out.println("Authority: " + a.getAuthority()));
-        System.out.println("=======================");
+        CustomUserDetails userDetails = new CustomUserDetails(user, authorities);
+        synchronized (this) {
+            if (generation(username) == generation) {
+                entries.put(username, new Entry(userDetails, clock.instant().plus(ttl)));
+            }
+        }
+        return userDetails;
+    }
+
+    // Drops the cached user, e.g. after their roles changed, and keeps loads
+    // already in flight from caching what they read
+    public synchronized void evict(String username) {
+        generations.merge(username, 1L, Long::sum);
+        if (entries.remove(username) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public synchronized AuthCacheStats getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new AuthCacheStats(
+                entries.size(),
+                maxEntries,
+                hitCount,
+                missCount,
+                lookups == 0 ? 0.0 : (double) hitCount / lookups,
+                expirations.sum(),
+                evictions.sum(),
+                invalidations.sum());
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private synchronized UserDetails cached(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt)) {
+            entries.remove(username);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.userDetails;
+    }
+
+    private synchronized long generation(String username) {
+        return generations.getOrDefault(username, 0L);
+    }
+
+    private static final class Entry {
+        private final CustomUserDetails userDetails;
+        private final Instant expiresAt;
 
-        return new CustomUserDetails(user, authorities);
+        private Entry(CustomUserDetails userDetails, Instant expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
     }
-}
\ No newline at end of file
+}
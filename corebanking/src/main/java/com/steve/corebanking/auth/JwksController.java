@@ -0,0 +1,30 @@
+package com.steve.corebanking.auth;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Public half of the token signing key, for audit-service and the gateway to verify tokens locally
+@RestController
+public class JwksController {
+
+    static final String PATH = "/.well-known/jwks.json";
+
+    private final JwtConfig jwtConfig;
+
+    public JwksController(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+    }
+
+    @GetMapping(PATH)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", List.of(jwtConfig.getPublicJwk())));
+    }
+}
@@ -0,0 +1,38 @@
+package com.steve.corebanking.auth;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+// What a verified token says, read once per request; the signature and expiry
+// have already been checked by the time one of these exists
+@Getter
+public final class JwtClaims {
+
+    private final String username;
+    private final List<String> roles;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    JwtClaims(String username, List<String> roles, Instant issuedAt, Instant expiresAt) {
+        this.username = username;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @SuppressWarnings("unchecked")
+    static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("roles", List.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    public boolean isIssuedTo(User user) {
+        return username != null && username.equals(user.getUsername());
+    }
+}
@@ -1,16 +1,191 @@
 package com.steve.corebanking.auth;
 
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The key pair tokens are signed with. RSA keys sign RS256, EC P-256 keys
+ * ES256; the public half is published as a JWK (JwksController), so
+ * audit-service and the gateway verify tokens without sharing a secret.
+ *
+ * Keys come from jwt.private-key (PKCS#8 PEM) and jwt.public-key (X.509 PEM);
+ * startup fails unless a probe signed with one verifies with the other.
+ * Without them a fresh RSA key pair is generated at startup: fine for one
+ * local instance, but tokens then die with the instance and are not accepted
+ * by its siblings. The kid defaults to the key's RFC 7638 thumbprint.
+ */
 @Component
 public class JwtConfig {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final PrivateKey signingKey;
+    private final PublicKey verificationKey;
+    private final SignatureAlgorithm algorithm;
+    private final Map<String, Object> publicJwk;
+    private final String keyId;
+
+    @Autowired
+    public JwtConfig(@Value("${jwt.private-key:}") String privateKeyPem,
+                     @Value("${jwt.public-key:}") String publicKeyPem,
+                     @Value("${jwt.key-id:}") String keyId) {
+        this(loadKeyPair(privateKeyPem, publicKeyPem), keyId);
+    }
+
+    JwtConfig(KeyPair keyPair, String keyId) {
+        this.signingKey = keyPair.getPrivate();
+        this.verificationKey = keyPair.getPublic();
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (verificationKey instanceof RSAPublicKey rsa) {
+            this.algorithm = SignatureAlgorithm.RS256;
+            // Members in RFC 7638 order, so the thumbprint can be taken from this map
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+        } else if (verificationKey instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+            this.algorithm = SignatureAlgorithm.ES256;
+            jwk.put("crv", "P-256");
+            jwk.put("kty", "EC");
+            jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+        } else {
+            throw new IllegalArgumentException("JWT signing key must be RSA or EC P-256");
+        }
+        this.keyId = keyId == null || keyId.isBlank() ? thumbprint(jwk) : keyId;
+
+        jwk.put("kid", this.keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        this.publicJwk = Map.copyOf(jwk);
+    }
+
+    public PrivateKey getSigningKey() {
+        return signingKey;
+    }
+
+    public PublicKey getVerificationKey() {
+        return verificationKey;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public Map<String, Object> getPublicJwk() {
+        return publicJwk;
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private static KeyPair loadKeyPair(String privateKeyPem, String publicKeyPem) {
+        boolean hasPrivate = privateKeyPem != null && !privateKeyPem.isBlank();
+        boolean hasPublic = publicKeyPem != null && !publicKeyPem.isBlank();
+        if (hasPrivate != hasPublic) {
+            throw new IllegalArgumentException("jwt.private-key and jwt.public-key must be set together");
+        }
+        try {
+            if (!hasPrivate) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return generator.generateKeyPair();
+            }
+            byte[] privateDer = pemBody(privateKeyPem);
+            byte[] publicDer = pemBody(publicKeyPem);
+            for (String type : new String[]{"RSA", "EC"}) {
+                try {
+                    KeyFactory factory = KeyFactory.getInstance(type);
+                    KeyPair keyPair = new KeyPair(
+                            factory.generatePublic(new X509EncodedKeySpec(publicDer)),
+                            factory.generatePrivate(new PKCS8EncodedKeySpec(privateDer)));
+                    checkKeysMatch(keyPair, type);
+                    return keyPair;
+                } catch (GeneralSecurityException ex) {
+                    // Not this key type; try the next
+                }
+            }
+            throw new IllegalArgumentException("jwt.private-key / jwt.public-key are not an RSA or EC key pair");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a JWT signing key", e);
+        }
+    }
+
+    // Two halves of different pairs would sign tokens nobody can verify against
+    // the published JWK; fail at startup instead of on the first request
+    private static void checkKeysMatch(KeyPair keyPair, String type) throws GeneralSecurityException {
+        byte[] probe = "jwt-key-pair-probe".getBytes(StandardCharsets.UTF_8);
+        String algorithm = type.equals("RSA") ? "SHA256withRSA" : "SHA256withECDSA";
 
-    public String getSecretKey() {
+        Signature signer = Signature.getInstance(algorithm);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(probe);
+        byte[] signature = signer.sign();
+
+        Signature verifier = Signature.getInstance(algorithm);
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(probe);
+        if (!verifier.verify(signature)) {
+            throw new IllegalArgumentException("jwt.private-key and jwt.public-key are not the same key pair");
+        }
+    }
+
+    private static byte[] pemBody(String pem) {
+        String body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    // Unsigned big-endian, left-padded to length bytes (0: no padding)
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 
-        return secretKey;
+    private static String thumbprint(Map<String, Object> requiredMembers) {
+        StringBuilder json = new StringBuilder("{");
+        requiredMembers.forEach((name, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(name).append("\":\"").append(value).append('"');
+        });
+        json.append('}');
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -1,10 +1,12 @@
 package com.steve.corebanking.auth;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,10 +27,18 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final UserIdCache userIdCache;
+    private final boolean claimsOnly;
 
-    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                     VerifiedTokenCache tokenCache, UserIdCache userIdCache,
+                     @Value("${corebanking.auth.claims-only:false}") boolean claimsOnly) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.userIdCache = userIdCache;
+        this.claimsOnly = claimsOnly;
     }
 
     @Override
@@ -46,44 +56,92 @@ public class JwtFilter extends OncePerRequestFilter {
 
         String header = request.getHeader("Authorization");
 
-        System.out.println("JWT HEADER: " + request.getHeader("Authorization"));
-
-
         if (header != null && header.startsWith("Bearer ")) {
 
             String token = header.substring(7);
-            String username = jwtUtil.extractUsername(token);
 
-            System.out.println("JWT USERNAME: " + username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // A token seen before was verified then; reuse that principal until it expires.
+                // Claims-only mode still checks the user exists, as it does on a miss.
+                VerifiedTokenCache.Entry cached = tokenCache.get(token);
+                if (cached != null) {
+                    String username = cached.getPrincipal().getUsername();
+                    if (!claimsOnly || userIdCache.findUserId(username).isPresent()) {
+                        authenticate(request, cached.getPrincipal(), cached.getAuthorities());
+                    } else {
+                        tokenCache.invalidateUser(username);
+                    }
+                    chain.doFilter(request, response);
+                    return;
+                }
+            }
 
+            // One signature check per request; everything below reads the parsed claims
+            JwtClaims claims;
+            try {
+                claims = jwtUtil.parse(token);
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Bad or expired token: carry on unauthenticated and let security reject it
+                chain.doFilter(request, response);
+                return;
+            }
+
+            String username = claims.getUsername();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                long generation = tokenCache.generation(username);
+                UserDetails userDetails = claimsOnly
+                        ? principalFromClaims(claims)
+                        : principalFromDatabase(claims);
 
-                if (jwtUtil.isTokenValid(token, ((CustomUserDetails) userDetails).getUser())) {
+                if (userDetails != null) {
+                    List<GrantedAuthority> authorities = List.copyOf(userDetails.getAuthorities());
+                    tokenCache.put(token, claims, userDetails, authorities, generation);
+                    authenticate(request, userDetails, authorities);
+                }
+            }
+        }
 
-                    List<String> roles = jwtUtil.extractRoles(token);
-                    List<GrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
+        chain.doFilter(request, response);
+    }
 
+    // Roles come from the signed token and hold until it expires; the database is
+    // only asked whether the user still exists
+    private UserDetails principalFromClaims(JwtClaims claims) {
+        List<GrantedAuthority> authorities = claims.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return userIdCache.findUserId(claims.getUsername())
+                .map(userId -> {
+                    User user = new User();
+                    user.setId(userId);
+                    user.setUsername(claims.getUsername());
+                    claims.getRoles().forEach(role -> user.getRoles().add(new Role(null, role)));
+                    return new CustomUserDetails(user, authorities);
+                })
+                .orElse(null);
+    }
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, authorities
-                            );
+    // Roles come from the database, not the token, so a role change applies to
+    // tokens already issued as soon as UserService evicts the user
+    private UserDetails principalFromDatabase(JwtClaims claims) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getUsername());
+        return claims.isIssuedTo(((CustomUserDetails) userDetails).getUser()) ? userDetails : null;
+    }
 
-                    authentication.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
+    private void authenticate(HttpServletRequest request, UserDetails userDetails,
+                              List<GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails, null, authorities
+                );
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            }
-        }
+        authentication.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
 
-        chain.doFilter(request, response);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
 }
@@ -1,28 +1,27 @@
 package com.steve.corebanking.auth;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtParser;
 import org.springframework.stereotype.Component;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import java.security.Key;
 
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
-    private final JwtConfig jwtConfig;
-
     private static final long EXPIRATION_MS = 1000 * 60 * 60; // 1 hour
 
+    private final JwtConfig jwtConfig;
+    // Immutable and thread-safe, so it is built once instead of per call
+    private final JwtParser parser;
+
     //  Constructor injection (BEST PRACTICE)
     public JwtUtil(JwtConfig jwtConfig) {
         this.jwtConfig = jwtConfig;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(jwtConfig.getVerificationKey())
+                .build();
     }
 
     /* ================= TOKEN GENERATION ================= */
@@ -32,48 +31,22 @@ public class JwtUtil {
                 .map(Role::getName)
                 .toList();
 
+        // kid lets verifiers pick the matching key from the published JWKS
         return Jwts.builder()
+                .setHeaderParam("kid", jwtConfig.getKeyId())
                 .setSubject(user.getUsername())
                 .claim("roles", roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtConfig.getSigningKey(), jwtConfig.getAlgorithm())
                 .compact();
     }
 
     /* ================= TOKEN PARSING ================= */
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public List<String> extractRoles(String token) {
-        return extractAllClaims(token).get("roles", List.class);
-    }
-
-    public boolean isTokenValid(String token, User user) {
-        return extractUsername(token).equals(user.getUsername())
-                && !isTokenExpired(token);
-    }
-
-    /* ================= INTERNAL HELPERS ================= */
-
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
-                .getExpiration()
-                .before(new Date());
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtConfig.getSecretKey());
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Verifies the signature and expiry once and hands back everything the
+    // request needs; throws JwtException when the token is bad or expired
+    public JwtClaims parse(String token) {
+        return JwtClaims.from(parser.parseClaimsJws(token).getBody());
     }
 }
@@ -53,7 +53,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/auth/login",
                                 "/audit/test/**",
-                                "/api/auth/register"
+                                "/api/auth/register",
+                                JwksController.PATH
                         ).permitAll()
                         .requestMatchers("/api/accounts/**").permitAll()
                         .requestMatchers("/ping").permitAll()
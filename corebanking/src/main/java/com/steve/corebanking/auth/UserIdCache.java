@@ -0,0 +1,155 @@
+package com.steve.corebanking.auth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Username to user id, for claims-only authentication in JwtFilter: the only
+ * thing it still needs from the database is that the user exists.
+ *
+ * A miss reads the id from the database on the calling thread. A hit older
+ * than refreshAfter is still served, and a background thread re-reads it, so
+ * requests never wait for the refresh; a user removed from the database stops
+ * authenticating within about refreshAfter. Unknown usernames are not cached.
+ * Bounded by entry count, least recently used first, like IdempotencyCache.
+ */
+@Component
+public class UserIdCache {
+
+    private final AuthRepository authRepository;
+    private final int maxEntries;
+    private final Duration refreshAfter;
+    private final Clock clock;
+    private final Executor refresher;
+    private final ThreadPoolExecutor refreshPool;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public UserIdCache(AuthRepository authRepository,
+                       @Value("${corebanking.auth.user-cache-max-entries:10000}") int maxEntries,
+                       @Value("${corebanking.auth.user-cache-refresh-seconds:60}") long refreshSeconds) {
+        this(authRepository, maxEntries, Duration.ofSeconds(refreshSeconds), Clock.systemUTC(), null);
+    }
+
+    // refresher == null: a single daemon thread with a short queue
+    UserIdCache(AuthRepository authRepository, int maxEntries, Duration refreshAfter, Clock clock,
+                Executor refresher) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.authRepository = authRepository;
+        this.maxEntries = maxEntries;
+        this.refreshAfter = refreshAfter;
+        this.clock = clock;
+        if (refresher == null) {
+            this.refreshPool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(1000), r -> {
+                Thread t = new Thread(r, "user-id-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            this.refresher = refreshPool;
+        } else {
+            this.refreshPool = null;
+            this.refresher = refresher;
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserIdCache.this.maxEntries;
+            }
+        };
+    }
+
+    public Optional<Long> findUserId(String username) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(username);
+        }
+        if (entry == null) {
+            return load(username);
+        }
+        if (!clock.instant().isBefore(entry.loadedAt.plus(refreshAfter))) {
+            refreshInBackground(username);
+        }
+        return Optional.of(entry.userId);
+    }
+
+    public synchronized void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshPool != null) {
+            refreshPool.shutdownNow();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private Optional<Long> load(String username) {
+        Optional<Long> userId = authRepository.findIdByUsername(username);
+        synchronized (this) {
+            if (userId.isPresent()) {
+                entries.put(username, new Entry(userId.get(), clock.instant()));
+            } else {
+                entries.remove(username);
+            }
+        }
+        return userId;
+    }
+
+    private void refreshInBackground(String username) {
+        if (!refreshing.add(username)) {
+            return; // already queued
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(username);
+                } catch (RuntimeException ex) {
+                    // Keep serving the old id; the next stale hit tries again
+                } finally {
+                    refreshing.remove(username);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Queue full: serve the old id, a later hit queues it again
+            refreshing.remove(username);
+        }
+    }
+
+    private static final class Entry {
+        private final Long userId;
+        private final Instant loadedAt;
+
+        private Entry(Long userId, Instant loadedAt) {
+            this.userId = userId;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
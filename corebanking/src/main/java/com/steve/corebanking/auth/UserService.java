@@ -3,6 +3,8 @@ package com.steve.corebanking.auth;
 import jakarta.transaction.Transactional;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
@@ -10,11 +12,17 @@ public class UserService {
 
     private final AuthRepository authRepository;
     private final RoleRepository roleRepository;
+    private final VerifiedTokenCache tokenCache;
+    private final CustomUserDetailsService userDetailsService;
 
     public UserService(AuthRepository authRepository,
-                       RoleRepository roleRepository) {
+                       RoleRepository roleRepository,
+                       VerifiedTokenCache tokenCache,
+                       CustomUserDetailsService userDetailsService) {
         this.authRepository = authRepository;
         this.roleRepository = roleRepository;
+        this.tokenCache = tokenCache;
+        this.userDetailsService = userDetailsService;
     }
 
     public void changeUserRole(Long targetUserId,
@@ -37,5 +45,29 @@ public class UserService {
         user.getRoles().add(newRole);
 
         authRepository.save(user);
+
+        evictCachedUser(user.getUsername());
+    }
+
+    // Drops the user's cached details and tokens once their roles changed. Runs
+    // after commit so the next load sees the new roles; a load that read the old
+    // ones before the commit is kept out of the cache by the generation check in
+    // CustomUserDetailsService.
+    public void evictCachedUser(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(username);
+            }
+        });
+    }
+
+    private void evictNow(String username) {
+        userDetailsService.evict(username);
+        tokenCache.invalidateUser(username);
     }
-}
\ No newline at end of file
+}
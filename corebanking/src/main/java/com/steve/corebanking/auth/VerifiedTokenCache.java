@@ -0,0 +1,190 @@
+package com.steve.corebanking.auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tokens that already passed signature verification, with the principal and
+ * authorities JwtFilter built for them, so a client reusing its token skips
+ * both the signature check and the user lookup until the token expires.
+ *
+ * Keyed by a SHA-256 of the token, never the token itself. Each entry is
+ * dropped at the token's own exp. When the cache is full, expired entries are
+ * purged first, then arbitrary ones until it is back under 90% of maxEntries.
+ * A role change must call {@link #invalidateUser(String)}, otherwise the old
+ * principal is served until the token expires. Callers read
+ * {@link #generation(String)} before loading the principal and pass it to put,
+ * so a principal loaded before an invalidation is not cached after it.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>(); // invalidations per username
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${corebanking.auth.token-cache-max-entries:10000}") int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public Entry get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.instant())) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    public long generation(String username) {
+        return generations.getOrDefault(username, 0L);
+    }
+
+    // Tokens without an exp are not cached: there would be nothing to evict them by.
+    // Checked after the insert: invalidateUser bumps the generation before it
+    // sweeps, so either the sweep or this check drops a stale entry.
+    public void put(String token, JwtClaims claims, UserDetails principal,
+                    List<? extends GrantedAuthority> authorities, long generation) {
+        if (claims.getExpiresAt() == null || !clock.instant().isBefore(claims.getExpiresAt())) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            shrink();
+        }
+        String key = hash(token);
+        Entry entry = new Entry(principal, List.copyOf(authorities), claims.getExpiresAt());
+        entries.put(key, entry);
+        if (generation(principal.getUsername()) != generation) {
+            entries.remove(key, entry);
+        }
+    }
+
+    // Drops every cached token of this user, e.g. after their roles changed
+    public void invalidateUser(String username) {
+        generations.merge(username, 1L, Long::sum);
+        entries.values().removeIf(entry -> {
+            boolean match = entry.principal.getUsername().equals(username);
+            if (match) {
+                invalidations.increment();
+            }
+            return match;
+        });
+    }
+
+    public AuthCacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new AuthCacheStats(
+                entries.size(),
+                maxEntries,
+                hitCount,
+                missCount,
+                lookups == 0 ? 0.0 : (double) hitCount / lookups,
+                expirations.sum(),
+                evictions.sum(),
+                invalidations.sum());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private synchronized void shrink() {
+        if (entries.size() < maxEntries) {
+            return; // another thread got here first
+        }
+        Instant now = clock.instant();
+        entries.values().removeIf(entry -> {
+            boolean expired = entry.isExpired(now);
+            if (expired) {
+                expirations.increment();
+            }
+            return expired;
+        });
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class Entry {
+        private final UserDetails principal;
+        private final List<GrantedAuthority> authorities;
+        private final Instant expiresAt;
+
+        private Entry(UserDetails principal, List<GrantedAuthority> authorities, Instant expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+
+        public UserDetails getPrincipal() {
+            return principal;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
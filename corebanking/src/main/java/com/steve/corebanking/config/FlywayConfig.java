@@ -0,0 +1,28 @@
+package com.steve.corebanking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    // corebanking and audit-service migrate the same database, so a non-empty
+    // schema does not mean "already built". Both baseline at 0 and keep their
+    // V1 scripts idempotent instead.
+    //
+    // ${concurrently} lets index migrations build without blocking writes on
+    // PostgreSQL; set corebanking.flyway.concurrent-indexes=false for databases
+    // without CREATE INDEX CONCURRENTLY (e.g. H2).
+    @Bean
+    public FlywayConfigurationCustomizer corebankingFlywayCustomizer(
+            @Value("${corebanking.flyway.concurrent-indexes:true}") boolean concurrentIndexes) {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .placeholders(Map.of("concurrently", concurrentIndexes ? "CONCURRENTLY" : ""));
+    }
+}
@@ -0,0 +1,13 @@
+package com.steve.corebanking.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (ledger checkpoints, ...). Switched off in tests so they
+// cannot interfere with the data a test is asserting on.
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "corebanking.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,29 @@
+package com.steve.corebanking.ledger;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Ledger balance of one account over every entry created before asOf.
+// The latest checkpoint per account is kept; older ones are overwritten.
+@Entity
+@Data
+public class LedgerBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String accountNumber;
+
+    private Long lastEntryId; // highest ledger id covered so far (null until the account has entries)
+
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+}
@@ -0,0 +1,12 @@
+package com.steve.corebanking.ledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerBalanceCheckpointRepository extends JpaRepository<LedgerBalanceCheckpoint, Long> {
+    Optional<LedgerBalanceCheckpoint> findByAccountNumber(String accountNumber);
+    List<LedgerBalanceCheckpoint> findByAccountNumberIn(Collection<String> accountNumbers);
+}
@@ -0,0 +1,8 @@
+package com.steve.corebanking.ledger;
+
+import java.math.BigDecimal;
+
+public interface LedgerBalanceView {
+    String getAccountNumber();
+    BigDecimal getBalance();
+}
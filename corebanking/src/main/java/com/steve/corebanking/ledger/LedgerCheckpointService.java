@@ -0,0 +1,103 @@
+package com.steve.corebanking.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rolls each account's {@link LedgerBalanceCheckpoint} forward so balance
+ * calculation only has to fold recent entries.
+ *
+ * A checkpoint covers entries by creation time, not by id: pooled sequence
+ * ids are handed out in blocks per instance, so a lower id can commit after
+ * a higher one. The cut-off trails the clock by a settle lag so that entries
+ * of transactions still in flight are never skipped; postings are expected
+ * to commit well within that lag.
+ */
+@Service
+public class LedgerCheckpointService {
+
+    static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LedgerRepository ledgerRepository;
+    private final LedgerBalanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleLag;
+
+    private LocalDateTime lastCutoff; // null until the first pass since startup
+
+    public LedgerCheckpointService(LedgerRepository ledgerRepository,
+                                   LedgerBalanceCheckpointRepository checkpointRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${corebanking.ledger-checkpoint.settle-lag-seconds:300}") long settleLagSeconds) {
+        this.ledgerRepository = ledgerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleLag = Duration.ofSeconds(settleLagSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${corebanking.ledger-checkpoint.interval-ms:300000}",
+            initialDelayString = "${corebanking.ledger-checkpoint.initial-delay-ms:60000}")
+    public void scheduledRollForward() {
+        rollForward();
+    }
+
+    // ============================
+    //   ROLL CHECKPOINTS FORWARD
+    // ============================
+    // Only accounts with entries since the previous pass are visited; the first
+    // pass after startup visits every account once.
+    public synchronized int rollForward() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settleLag);
+        List<String> accounts = ledgerRepository.findAccountNumbersWithEntriesSince(
+                lastCutoff == null ? BEGINNING : lastCutoff);
+
+        int rolled = 0;
+        for (String accountNumber : accounts) {
+            Boolean advanced = transactionTemplate.execute(status -> rollForward(accountNumber, cutoff));
+            if (Boolean.TRUE.equals(advanced)) {
+                rolled++;
+            }
+        }
+
+        lastCutoff = cutoff;
+        return rolled;
+    }
+
+    private boolean rollForward(String accountNumber, LocalDateTime cutoff) {
+        LedgerBalanceCheckpoint checkpoint = checkpointRepository.findByAccountNumber(accountNumber)
+                .orElseGet(() -> emptyCheckpoint(accountNumber));
+
+        if (!checkpoint.getAsOf().isBefore(cutoff)) {
+            return false;
+        }
+
+        LedgerDeltaView delta = ledgerRepository.sumDeltaByAccountNumber(
+                accountNumber, checkpoint.getAsOf(), cutoff);
+
+        checkpoint.setBalance(checkpoint.getBalance().add(delta.getBalance()));
+        if (delta.getLastEntryId() != null
+                && (checkpoint.getLastEntryId() == null || delta.getLastEntryId() > checkpoint.getLastEntryId())) {
+            checkpoint.setLastEntryId(delta.getLastEntryId());
+        }
+        checkpoint.setAsOf(cutoff);
+
+        checkpointRepository.save(checkpoint);
+        return true;
+    }
+
+    private static LedgerBalanceCheckpoint emptyCheckpoint(String accountNumber) {
+        LedgerBalanceCheckpoint checkpoint = new LedgerBalanceCheckpoint();
+        checkpoint.setAccountNumber(accountNumber);
+        checkpoint.setAsOf(BEGINNING);
+        checkpoint.setBalance(BigDecimal.ZERO);
+        return checkpoint;
+    }
+}
@@ -1,18 +1,25 @@
 package com.steve.corebanking.ledger;
 
+import com.steve.corebanking.ledger.dto.LedgerReconciliationPageDto;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/ledger")
 public class LedgerController {
 
     private final LedgerService ledgerService;
+    private final LedgerCheckpointService ledgerCheckpointService;
 
-    public LedgerController(LedgerService ledgerService) {
+    public LedgerController(LedgerService ledgerService, LedgerCheckpointService ledgerCheckpointService) {
         this.ledgerService = ledgerService;
+        this.ledgerCheckpointService = ledgerCheckpointService;
     }
 
     // Fetch all ledger entries for a specific account (AUDITOR only)
@@ -43,4 +50,31 @@ public class LedgerController {
                 : "Discrepancy detected! Ledger balance does not match account balance.";
         return ResponseEntity.ok(message);
     }
+
+    // Ledger balance at the end of a day, e.g. the closing balance of a statement
+    @PreAuthorize("hasAnyRole('AUDITOR','ADMIN')")
+    @GetMapping("/balance/{accountNumber}")
+    public ResponseEntity<BigDecimal> getLedgerBalanceAsOf(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    ) {
+        return ResponseEntity.ok(ledgerService.calculateLedgerBalanceAsOf(accountNumber, asOf));
+    }
+
+    // Accounts whose balance disagrees with the ledger, keyset-paged by account number
+    @PreAuthorize("hasAnyRole('AUDITOR','ADMIN')")
+    @GetMapping("/reconciliation/mismatches")
+    public ResponseEntity<LedgerReconciliationPageDto> getBalanceMismatches(
+            @RequestParam(required = false) String afterAccountNumber,
+            @RequestParam(defaultValue = "500") int size
+    ) {
+        return ResponseEntity.ok(ledgerService.findBalanceMismatches(afterAccountNumber, size));
+    }
+
+    // Roll balance checkpoints forward now instead of waiting for the background job
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/checkpoints/roll-forward")
+    public ResponseEntity<Integer> rollCheckpointsForward() {
+        return ResponseEntity.ok(ledgerCheckpointService.rollForward());
+    }
 }
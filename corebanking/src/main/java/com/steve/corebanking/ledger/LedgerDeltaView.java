@@ -0,0 +1,8 @@
+package com.steve.corebanking.ledger;
+
+import java.math.BigDecimal;
+
+public interface LedgerDeltaView {
+    BigDecimal getBalance();
+    Long getLastEntryId(); // null when the window holds no entries
+}
@@ -9,10 +9,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = {
+        @Index(name = "idx_ledger_entry_account_created", columnList = "account_number, created_at"),
+        @Index(name = "idx_ledger_entry_created_at", columnList = "created_at"),
+        @Index(name = "idx_ledger_entry_account_id", columnList = "account_id")
+})
 public class LedgerEntry {
 
+    // Pooled sequence: ids are handed out 50 at a time without a round trip each,
+    // and unlike IDENTITY it lets Hibernate batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", sequenceName = "ledger_entry_seq", allocationSize = 50)
     private Long id;
 
     private String accountNumber;
@@ -0,0 +1,54 @@
+package com.steve.corebanking.ledger;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link LedgerEntry} moved out of the hot table by the archive job. Only
+ * entries already folded into their account's balance checkpoint are moved,
+ * so the current balance never has to read this table; only a balance as of
+ * a day before the checkpoint does.
+ */
+@Entity
+@Data
+@Table(name = "ledger_entry_archive", indexes = {
+        @Index(name = "idx_ledger_entry_archive_account_created", columnList = "account_number, created_at")
+})
+public class LedgerEntryArchive {
+
+    @Id
+    private Long id; // kept from the hot row
+
+    private String accountNumber;
+
+    // Plain column: archived rows are never joined to Account
+    private Long accountId;
+
+    private String transactionId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private LedgerEntry.EntryType entryType;
+
+    private String narration;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    LedgerEntry toLedgerEntry() {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setId(id);
+        entry.setAccountNumber(accountNumber);
+        entry.setTransactionId(transactionId);
+        entry.setAmount(amount);
+        entry.setEntryType(entryType);
+        entry.setNarration(narration);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+}
@@ -0,0 +1,41 @@
+package com.steve.corebanking.ledger;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface LedgerEntryArchiveRepository extends JpaRepository<LedgerEntryArchive, Long> {
+
+    // Copies hot rows as they are; created_at < :before lets PostgreSQL prune partitions
+    @Modifying
+    @Query(value = """
+        INSERT INTO ledger_entry_archive (id, account_number, account_id, transaction_id,
+                                          amount, entry_type, narration, created_at)
+        SELECT id, account_number, account_id, transaction_id,
+               amount, entry_type, narration, created_at
+        FROM ledger_entry
+        WHERE id IN :ids AND created_at < :before
+        """, nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<Long> ids, @Param("before") LocalDateTime before);
+
+    List<LedgerEntryArchive> findByAccountNumber(String accountNumber, Sort sort);
+
+    List<LedgerEntryArchive> findByAccountNumber(String accountNumber, Sort sort, Limit limit);
+
+    long countByAccountNumber(String accountNumber);
+
+    // Net movement in [from, to), for balances as of a day before the checkpoint
+    @Query("SELECT COALESCE(SUM(" + LedgerRepository.SIGNED_AMOUNT + "), 0) FROM LedgerEntryArchive l " +
+            "WHERE l.accountNumber = :accountNumber AND l.createdAt >= :from AND l.createdAt < :to")
+    BigDecimal sumBalanceByAccountNumberBetween(@Param("accountNumber") String accountNumber,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,9 @@
+package com.steve.corebanking.ledger;
+
+import java.math.BigDecimal;
+
+public interface LedgerMismatchView {
+    String getAccountNumber();
+    BigDecimal getAccountBalance();
+    BigDecimal getLedgerBalance();
+}
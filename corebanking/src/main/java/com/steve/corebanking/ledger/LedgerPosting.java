@@ -0,0 +1,17 @@
+package com.steve.corebanking.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// One balanced movement: a DEBIT leg on debitAccount and a CREDIT leg on creditAccount
+@Data
+@AllArgsConstructor
+public class LedgerPosting {
+    private String debitAccount;
+    private String creditAccount;
+    private BigDecimal amount;
+    private String transactionId;
+    private String narration;
+}
@@ -1,18 +1,92 @@
 package com.steve.corebanking.ledger;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface LedgerRepository extends JpaRepository<LedgerEntry, Long> {
-    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM LedgerEntry l WHERE l.account.id = :accountId")
-    BigDecimal sumBalanceByAccountId(Long accountId);
-    Page<LedgerEntry> findByAccountId(Long accountId, Pageable pageable);
+
+    // CREDIT legs add to the balance, DEBIT legs subtract from it
+    String SIGNED_AMOUNT =
+            "CASE WHEN l.entryType = com.steve.corebanking.ledger.LedgerEntry.EntryType.CREDIT " +
+            "THEN l.amount ELSE -l.amount END";
+
+    // Explicit query: the derived version joined Account and filtered on its id,
+    // which scanned ledger_entry instead of using the account_id index
+    @Query(value = "SELECT l FROM LedgerEntry l WHERE l.account.id = :accountId",
+            countQuery = "SELECT COUNT(l) FROM LedgerEntry l WHERE l.account.id = :accountId")
+    Page<LedgerEntry> findByAccountId(@Param("accountId") Long accountId, Pageable pageable);
     List<LedgerEntry> findByAccountNumberOrderByCreatedAtDesc(String accountNumber);
 
     Page<LedgerEntry> findByAccountNumber(String accountNumber, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT l.accountNumber FROM LedgerEntry l WHERE l.createdAt >= :since")
+    List<String> findAccountNumbersWithEntriesSince(@Param("since") LocalDateTime since);
+
+    // ============================
+    //   SIGNED BALANCE AGGREGATES
+    // ============================
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM LedgerEntry l " +
+            "WHERE l.accountNumber = :accountNumber")
+    BigDecimal sumBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM LedgerEntry l " +
+            "WHERE l.accountNumber = :accountNumber AND l.createdAt >= :from")
+    BigDecimal sumBalanceByAccountNumberSince(@Param("accountNumber") String accountNumber,
+                                              @Param("from") LocalDateTime from);
+
+    // Net movement and highest entry id in [from, to), used to roll checkpoints forward
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) AS balance, MAX(l.id) AS lastEntryId " +
+            "FROM LedgerEntry l " +
+            "WHERE l.accountNumber = :accountNumber AND l.createdAt >= :from AND l.createdAt < :to")
+    LedgerDeltaView sumDeltaByAccountNumber(@Param("accountNumber") String accountNumber,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    // Grouped balances; entries already folded into an account's checkpoint are skipped,
+    // so callers add the checkpoint balance back. Accounts without entries are absent.
+    @Query("SELECT l.accountNumber AS accountNumber, SUM(" + SIGNED_AMOUNT + ") AS balance " +
+            "FROM LedgerEntry l " +
+            "LEFT JOIN LedgerBalanceCheckpoint c ON c.accountNumber = l.accountNumber " +
+            "WHERE l.accountNumber IN :accountNumbers AND (c.id IS NULL OR l.createdAt >= c.asOf) " +
+            "GROUP BY l.accountNumber")
+    List<LedgerBalanceView> sumBalancesAfterCheckpoints(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Accounts whose stored balance differs from checkpoint + newer ledger entries,
+    // in account-number order after the given key (keyset paging)
+    @Query("SELECT a.accountNumber AS accountNumber, a.balance AS accountBalance, " +
+            "COALESCE(c.balance, 0) + COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) AS ledgerBalance " +
+            "FROM Account a " +
+            "LEFT JOIN LedgerBalanceCheckpoint c ON c.accountNumber = a.accountNumber " +
+            "LEFT JOIN LedgerEntry l ON l.accountNumber = a.accountNumber " +
+            "AND (c.id IS NULL OR l.createdAt >= c.asOf) " +
+            "WHERE a.accountNumber > :after " +
+            "GROUP BY a.accountNumber, a.balance, c.balance " +
+            "HAVING a.balance <> COALESCE(c.balance, 0) + COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) " +
+            "ORDER BY a.accountNumber")
+    List<LedgerMismatchView> findBalanceMismatches(@Param("after") String afterAccountNumber, Pageable pageable);
+
+    // ============================
+    //   ARCHIVING
+    // ============================
+    // Only entries already folded into their account's checkpoint (created before
+    // its asOf) may leave the hot table; balances never read the archive
+    @Query("SELECT l.id FROM LedgerEntry l WHERE l.createdAt < :before " +
+            "AND EXISTS (SELECT c.id FROM LedgerBalanceCheckpoint c " +
+            "WHERE c.accountNumber = l.accountNumber AND c.asOf > l.createdAt) " +
+            "ORDER BY l.createdAt, l.id")
+    List<Long> findArchivableIds(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM LedgerEntry l WHERE l.id IN :ids AND l.createdAt < :before")
+    int deleteArchived(@Param("ids") Collection<Long> ids, @Param("before") LocalDateTime before);
+}
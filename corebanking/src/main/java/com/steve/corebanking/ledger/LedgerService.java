@@ -2,6 +2,11 @@ package com.steve.corebanking.ledger;
 
 import com.steve.corebanking.account.Account;
 import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.archive.ArchivePages;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.ledger.dto.LedgerMismatchDto;
+import com.steve.corebanking.ledger.dto.LedgerReconciliationPageDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -9,18 +14,42 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class LedgerService {
 
+    private static final int MAX_RECONCILIATION_PAGE_SIZE = 5000;
+
+    private static final Sort NEWEST_FIRST_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final Comparator<LedgerEntry> NEWEST_FIRST = Comparator
+            .comparing(LedgerEntry::getCreatedAt)
+            .thenComparing(LedgerEntry::getId)
+            .reversed();
+
     private final LedgerRepository ledgerRepository;
     private final AccountRepository accountRepository;
+    private final LedgerBalanceCheckpointRepository checkpointRepository;
+    private final LedgerEntryArchiveRepository ledgerEntryArchiveRepository;
+    private final ArchiveService archiveService;
 
-    public LedgerService(LedgerRepository ledgerRepository, AccountRepository accountRepository) {
+    public LedgerService(LedgerRepository ledgerRepository, AccountRepository accountRepository,
+                         LedgerBalanceCheckpointRepository checkpointRepository,
+                         LedgerEntryArchiveRepository ledgerEntryArchiveRepository,
+                         ArchiveService archiveService) {
         this.ledgerRepository = ledgerRepository;
         this.accountRepository = accountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.ledgerEntryArchiveRepository = ledgerEntryArchiveRepository;
+        this.archiveService = archiveService;
     }
 
 
@@ -43,25 +72,29 @@ public class LedgerService {
             String transactionId,
             String narration
     ) {
-        // 1. Debit entry
-        LedgerEntry debit = new LedgerEntry();
-        debit.setAccountNumber(debitAccount);
-        debit.setAmount(amount);
-        debit.setEntryType(LedgerEntry.EntryType.DEBIT);
-        debit.setTransactionId(transactionId);
-        debit.setNarration("DEBIT: " + narration);
-
-        ledgerRepository.save(debit);
-
-        // 2. Credit entry
-        LedgerEntry credit = new LedgerEntry();
-        credit.setAccountNumber(creditAccount);
-        credit.setAmount(amount);
-        credit.setEntryType(LedgerEntry.EntryType.CREDIT);
-        credit.setTransactionId(transactionId);
-        credit.setNarration("CREDIT: " + narration);
-
-        ledgerRepository.save(credit);
+        createDoubleEntries(List.of(
+                new LedgerPosting(debitAccount, creditAccount, amount, transactionId, narration)));
+    }
+
+    // Both legs of every posting are persisted together and written as JDBC
+    // batches when the surrounding transaction flushes
+    public void createDoubleEntries(List<LedgerPosting> postings) {
+        List<LedgerEntry> entries = new ArrayList<>(postings.size() * 2);
+        for (LedgerPosting posting : postings) {
+            entries.add(leg(posting.getDebitAccount(), LedgerEntry.EntryType.DEBIT, posting));
+            entries.add(leg(posting.getCreditAccount(), LedgerEntry.EntryType.CREDIT, posting));
+        }
+        ledgerRepository.saveAll(entries);
+    }
+
+    private LedgerEntry leg(String accountNumber, LedgerEntry.EntryType type, LedgerPosting posting) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setAccountNumber(accountNumber);
+        entry.setAmount(posting.getAmount());
+        entry.setEntryType(type);
+        entry.setTransactionId(posting.getTransactionId());
+        entry.setNarration(type.name() + ": " + posting.getNarration());
+        return entry;
     }
 
 
@@ -69,7 +102,15 @@ public class LedgerService {
     //   GET LEDGER FOR ACCOUNT
     // ============================
     public List<LedgerEntry> getLedgerForAccount(String accountNumber) {
-        return ledgerRepository.findByAccountNumberOrderByCreatedAtDesc(accountNumber);
+        List<LedgerEntry> entries = ledgerRepository.findByAccountNumberOrderByCreatedAtDesc(accountNumber);
+        if (!archiveService.reachesArchive(ArchiveService.LEDGER_ENTRIES, null)) {
+            return entries;
+        }
+        List<LedgerEntry> all = new ArrayList<>(entries);
+        all.addAll(toLedgerEntries(accountNumber,
+                ledgerEntryArchiveRepository.findByAccountNumber(accountNumber, NEWEST_FIRST_SORT)));
+        all.sort(NEWEST_FIRST);
+        return all;
     }
 
 
@@ -77,30 +118,97 @@ public class LedgerService {
     //   PAGINATED LEDGER
     // ============================
     public Page<LedgerEntry> getLedgerForAccount(String accountNumber, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ledgerRepository.findByAccountNumber(accountNumber, pageable);
+        if (!archiveService.reachesArchive(ArchiveService.LEDGER_ENTRIES, null)) {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            return ledgerRepository.findByAccountNumber(accountNumber, pageable);
+        }
+        int needed = ArchivePages.rowsNeeded(page, size);
+        Page<LedgerEntry> hot = ledgerRepository.findByAccountNumber(
+                accountNumber, PageRequest.of(0, needed, NEWEST_FIRST_SORT));
+        List<LedgerEntry> archived = toLedgerEntries(accountNumber,
+                ledgerEntryArchiveRepository.findByAccountNumber(accountNumber, NEWEST_FIRST_SORT, Limit.of(needed)));
+        return ArchivePages.merge(hot.getContent(), archived, NEWEST_FIRST, page, size,
+                hot.getTotalElements() + ledgerEntryArchiveRepository.countByAccountNumber(accountNumber));
+    }
+
+    // Archived rows carry only the account id; attach the account like a hot entry has it
+    private List<LedgerEntry> toLedgerEntries(String accountNumber, List<LedgerEntryArchive> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        return archived.stream()
+                .map(a -> {
+                    LedgerEntry entry = a.toLedgerEntry();
+                    entry.setAccount(account);
+                    return entry;
+                })
+                .toList();
     }
 
 
     // ============================
     //   BALANCE RECONCILIATION ENGINE
     // ============================
+    // Summed in the database, starting from the account's checkpoint when it has one
     public BigDecimal calculateLedgerBalance(String accountNumber) {
 
-        List<LedgerEntry> entries =
-                ledgerRepository.findByAccountNumberOrderByCreatedAtDesc(accountNumber);
+        Optional<LedgerBalanceCheckpoint> checkpoint =
+                checkpointRepository.findByAccountNumber(accountNumber);
 
-        BigDecimal balance = BigDecimal.ZERO;
+        if (checkpoint.isPresent()) {
+            return checkpoint.get().getBalance().add(
+                    ledgerRepository.sumBalanceByAccountNumberSince(accountNumber, checkpoint.get().getAsOf()));
+        }
+
+        return ledgerRepository.sumBalanceByAccountNumber(accountNumber);
+    }
 
-        for (LedgerEntry e : entries) {
-            if (e.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                balance = balance.add(e.getAmount());
-            } else {
-                balance = balance.subtract(e.getAmount());
-            }
+    // Ledger balance at the end of the given day. The checkpoint is moved to the
+    // end of that day by adding the entries after it or taking back the ones
+    // before it; entries behind the checkpoint may have been archived, so that
+    // stretch is summed from both tables.
+    public BigDecimal calculateLedgerBalanceAsOf(String accountNumber, LocalDate date) {
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+
+        Optional<LedgerBalanceCheckpoint> checkpoint =
+                checkpointRepository.findByAccountNumber(accountNumber);
+
+        if (checkpoint.isEmpty()) {
+            return movement(accountNumber, LedgerCheckpointService.BEGINNING, endOfDay);
         }
 
-        return balance;
+        LocalDateTime asOf = checkpoint.get().getAsOf();
+        return asOf.isAfter(endOfDay)
+                ? checkpoint.get().getBalance().subtract(movement(accountNumber, endOfDay, asOf))
+                : checkpoint.get().getBalance().add(movement(accountNumber, asOf, endOfDay));
+    }
+
+    private BigDecimal movement(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        BigDecimal hot = ledgerRepository.sumDeltaByAccountNumber(accountNumber, from, to).getBalance();
+        if (!archiveService.reachesArchive(ArchiveService.LEDGER_ENTRIES, from)) {
+            return hot;
+        }
+        return hot.add(ledgerEntryArchiveRepository.sumBalanceByAccountNumberBetween(accountNumber, from, to));
+    }
+
+    // Same as calculateLedgerBalance for many accounts, in two queries
+    public Map<String, BigDecimal> calculateLedgerBalances(Collection<String> accountNumbers) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        if (accountNumbers.isEmpty()) {
+            return balances;
+        }
+
+        for (String accountNumber : accountNumbers) {
+            balances.put(accountNumber, BigDecimal.ZERO);
+        }
+        for (LedgerBalanceCheckpoint checkpoint : checkpointRepository.findByAccountNumberIn(accountNumbers)) {
+            balances.put(checkpoint.getAccountNumber(), checkpoint.getBalance());
+        }
+        for (LedgerBalanceView view : ledgerRepository.sumBalancesAfterCheckpoints(accountNumbers)) {
+            balances.merge(view.getAccountNumber(), view.getBalance(), BigDecimal::add);
+        }
+        return balances;
     }
 
 
@@ -116,4 +224,39 @@ public class LedgerService {
 
         return ledgerBalance.compareTo(account.getBalance()) == 0;
     }
+
+
+    // ============================
+    //   BULK RECONCILIATION (MISMATCHES ONLY)
+    // ============================
+    public LedgerReconciliationPageDto findBalanceMismatches(String afterAccountNumber, int size) {
+        if (size <= 0 || size > MAX_RECONCILIATION_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_RECONCILIATION_PAGE_SIZE);
+        }
+
+        List<LedgerMismatchDto> mismatches = ledgerRepository
+                .findBalanceMismatches(afterAccountNumber == null ? "" : afterAccountNumber,
+                        PageRequest.of(0, size))
+                .stream()
+                .map(this::toMismatchDto)
+                .toList();
+
+        LedgerReconciliationPageDto page = new LedgerReconciliationPageDto();
+        page.setTotalAccounts(accountRepository.count());
+        page.setMismatches(mismatches);
+        page.setNextAfterAccountNumber(mismatches.size() < size
+                ? null
+                : mismatches.get(mismatches.size() - 1).getAccountNumber());
+        return page;
+    }
+
+    private LedgerMismatchDto toMismatchDto(LedgerMismatchView view) {
+        LedgerMismatchDto dto = new LedgerMismatchDto();
+        dto.setAccountNumber(view.getAccountNumber());
+        dto.setAccountBalance(view.getAccountBalance());
+        dto.setLedgerBalance(view.getLedgerBalance());
+        dto.setVariance(view.getAccountBalance().subtract(view.getLedgerBalance()));
+        return dto;
+    }
 }
@@ -0,0 +1,13 @@
+package com.steve.corebanking.ledger.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class LedgerMismatchDto {
+    private String accountNumber;
+    private BigDecimal accountBalance;
+    private BigDecimal ledgerBalance;
+    private BigDecimal variance; // accountBalance - ledgerBalance
+}
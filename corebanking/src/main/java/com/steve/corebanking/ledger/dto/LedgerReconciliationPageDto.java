@@ -0,0 +1,12 @@
+package com.steve.corebanking.ledger.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LedgerReconciliationPageDto {
+    private long totalAccounts;
+    private List<LedgerMismatchDto> mismatches;
+    private String nextAfterAccountNumber; // pass back to get the next page; null on the last page
+}
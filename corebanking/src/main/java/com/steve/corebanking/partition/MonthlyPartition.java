@@ -0,0 +1,20 @@
+package com.steve.corebanking.partition;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.YearMonth;
+
+// One partition's range: [from, until) in whole months; from is null for MINVALUE
+@Getter
+@RequiredArgsConstructor
+class MonthlyPartition {
+
+    private final String name;
+    private final YearMonth from;
+    private final YearMonth until;
+
+    boolean covers(YearMonth month) {
+        return (from == null || !month.isBefore(from)) && month.isBefore(until);
+    }
+}
@@ -0,0 +1,201 @@
+package com.steve.corebanking.partition;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of transaction and ledger_entry (created by the
+ * V5 migration) ahead of the clock, and optionally detaches old ones.
+ *
+ * New partitions are created as plain tables and then attached, which only
+ * takes a SHARE UPDATE EXCLUSIVE lock on the parent, so postings keep flowing.
+ * There is no default partition: a posting dated past the last partition
+ * fails, which is why several months are kept ready.
+ *
+ * Detaching is off unless corebanking.partitions.retention-months is set. A
+ * detached partition stays in the database as a standalone table but is no
+ * longer read by any query, so only empty partitions are detached: the
+ * archive job has copied their rows to the archive tables and deleted them
+ * (ledger entries only once a checkpoint covers them). A partition still
+ * holding rows, such as the legacy one V5 created, stays until it is drained.
+ *
+ * Only PostgreSQL tables that are actually partitioned are touched; on any
+ * other database this is a no-op.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    static final List<String> PARTITIONED_TABLES = List.of("transaction", "ledger_entry");
+
+    private static final Pattern MONTHLY = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+    private static final Pattern BEFORE = Pattern.compile("_p_before_(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    private Boolean postgres; // resolved on first use
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       @Value("${corebanking.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${corebanking.partitions.retention-months:0}") int retentionMonths) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("Months ahead must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${corebanking.partitions.interval-ms:86400000}",
+            initialDelayString = "${corebanking.partitions.initial-delay-ms:60000}")
+    public void scheduledMaintenance() {
+        maintain();
+    }
+
+    // ============================
+    //   CREATE AND DETACH
+    // ============================
+    // Returns the partitions created or detached, for the caller's log
+    public synchronized List<String> maintain() {
+        List<String> changed = new ArrayList<>();
+        if (!isPostgres()) {
+            return changed;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            List<MonthlyPartition> existing = findPartitions(table);
+
+            for (YearMonth month : missingMonths(existing, current, monthsAhead)) {
+                changed.add(createPartition(table, month));
+            }
+
+            if (retentionMonths > 0) {
+                for (MonthlyPartition partition : expired(existing, current, retentionMonths)) {
+                    if (canDetach(partition)) {
+                        detach(table, partition.getName(), false);
+                        changed.add(partition.getName());
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    // ============================
+    //   PLANNING
+    // ============================
+    // Months in [current, current + monthsAhead] that no partition covers yet
+    static List<YearMonth> missingMonths(List<MonthlyPartition> existing, YearMonth current, int monthsAhead) {
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            YearMonth m = month;
+            if (existing.stream().noneMatch(p -> p.covers(m))) {
+                missing.add(m);
+            }
+        }
+        return missing;
+    }
+
+    // Partitions whose rows are all older than the retention horizon
+    static List<MonthlyPartition> expired(List<MonthlyPartition> existing, YearMonth current, int retentionMonths) {
+        YearMonth horizon = current.minusMonths(retentionMonths);
+        return existing.stream()
+                .filter(p -> !p.getUntil().isAfter(horizon))
+                .toList();
+    }
+
+    // Null for partitions not named by V5 or this service; those are left alone
+    static MonthlyPartition parse(String name) {
+        Matcher monthly = MONTHLY.matcher(name);
+        if (monthly.find()) {
+            YearMonth from = YearMonth.of(Integer.parseInt(monthly.group(1)), Integer.parseInt(monthly.group(2)));
+            return new MonthlyPartition(name, from, from.plusMonths(1));
+        }
+        Matcher before = BEFORE.matcher(name);
+        if (before.find()) {
+            YearMonth until = YearMonth.of(Integer.parseInt(before.group(1)), Integer.parseInt(before.group(2)));
+            return new MonthlyPartition(name, null, until);
+        }
+        return null;
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private String createPartition(String table, YearMonth month) {
+        String name = partitionName(table, month);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name
+                + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        return name;
+    }
+
+    // CONCURRENTLY waits out running queries instead of blocking new ones; it
+    // cannot run inside a transaction, which JdbcTemplate's autocommit gives us
+    private void detach(String table, String partition, boolean finalizePending) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition
+                + (finalizePending ? " FINALIZE" : " CONCURRENTLY"));
+    }
+
+    // Empty means the archive job already moved every row, so no read path loses any
+    boolean canDetach(MonthlyPartition partition) {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM " + partition.getName() + ")", Boolean.class);
+        return Boolean.TRUE.equals(empty);
+    }
+
+    // A concurrent detach that was interrupted leaves the partition half-detached;
+    // it has to be finalized before anything else can be done with it
+    private List<MonthlyPartition> findPartitions(String table) {
+        List<String> names = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT c.relname, i.inhdetachpending
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, rs -> {
+            (rs.getBoolean(2) ? pending : names).add(rs.getString(1));
+        }, table);
+
+        pending.forEach(name -> detach(table, name, true));
+        return names.stream()
+                .map(PartitionMaintenanceService::parse)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(?) AND relkind = 'p')",
+                Boolean.class, table));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,36 @@
+package com.steve.corebanking.transaction;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Running totals of one day's postings for one type and teller.
+// Incremented after each posting commits; rebuilt from Transaction on demand.
+@Entity
+@Data
+@Table(name = "daily_transaction_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_daily_rollup_date_type_teller", columnNames = {"business_date", "type", "created_by"}))
+public class DailyTransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate businessDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private String createdBy; // UNKNOWN when the posting had no authenticated user
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,21 @@
+package com.steve.corebanking.transaction;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// A day whose rollup missed an increment and must be rebuilt once it has closed.
+// Kept in the database so the marker survives a restart.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "daily_transaction_rollup_dirty")
+public class DailyTransactionRollupDirtyDate {
+
+    @Id
+    private LocalDate businessDate;
+}
@@ -0,0 +1,11 @@
+package com.steve.corebanking.transaction;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyTransactionRollupDirtyDateRepository extends JpaRepository<DailyTransactionRollupDirtyDate, LocalDate> {
+
+    List<DailyTransactionRollupDirtyDate> findByBusinessDateBefore(LocalDate date);
+}
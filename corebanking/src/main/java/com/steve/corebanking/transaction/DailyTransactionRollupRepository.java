@@ -0,0 +1,33 @@
+package com.steve.corebanking.transaction;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyTransactionRollupRepository extends JpaRepository<DailyTransactionRollup, Long> {
+
+    List<DailyTransactionRollup> findByBusinessDateBetweenOrderByBusinessDate(LocalDate from, LocalDate to);
+
+    // Returns 0 when the row does not exist yet; the caller inserts it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE DailyTransactionRollup r
+        SET r.transactionCount = r.transactionCount + :count,
+            r.totalAmount = r.totalAmount + :amount
+        WHERE r.businessDate = :date AND r.type = :type AND r.createdBy = :createdBy
+    """)
+    int increment(@Param("date") LocalDate date,
+                  @Param("type") TransactionType type,
+                  @Param("createdBy") String createdBy,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DailyTransactionRollup r WHERE r.businessDate = :date")
+    int deleteByBusinessDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,258 @@
+package com.steve.corebanking.transaction;
+
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.transaction.dto.DailyTransactionSummaryDto;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@link DailyTransactionRollup} so daily and range reports cost one
+ * row per day, type and teller instead of a scan over every transaction.
+ *
+ * Postings add to a per-transaction {@link Bucket}; the poster applies the
+ * bucket once, in its own transactions, after the posting has committed and
+ * its account locks are released. A rolled-back posting therefore never shows
+ * up, the upserts never hold up other postings on the same accounts, and a
+ * batch chunk costs one upsert per key rather than one per item. If applying a bucket fails, the day is marked dirty in
+ * {@link DailyTransactionRollupDirtyDate} and rebuilt from the Transaction
+ * table by the nightly job.
+ *
+ * Rebuilding a day that is still taking postings can race with live
+ * increments, so only days that have closed are ever rebuilt.
+ */
+@Service
+public class DailyTransactionRollupService {
+
+    static final String UNKNOWN_TELLER = "UNKNOWN";
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final DailyTransactionRollupRepository rollupRepository;
+    private final DailyTransactionRollupDirtyDateRepository dirtyDateRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final ArchiveService archiveService;
+    private final TransactionTemplate newTransaction;
+
+    public DailyTransactionRollupService(DailyTransactionRollupRepository rollupRepository,
+                                         DailyTransactionRollupDirtyDateRepository dirtyDateRepository,
+                                         TransactionRepository transactionRepository,
+                                         TransactionArchiveRepository transactionArchiveRepository,
+                                         ArchiveService archiveService,
+                                         PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.dirtyDateRepository = dirtyDateRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.archiveService = archiveService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ============================
+    //   RECORD POSTINGS
+    // ============================
+    // Only call once the postings in the bucket have committed, and outside the account locks
+    void apply(Bucket bucket) {
+        bucket.deltas.forEach((key, delta) -> {
+            try {
+                upsert(key, delta);
+            } catch (RuntimeException ex) {
+                // The posting itself is committed; leave the day for the rebuild job
+                markDirty(key.date);
+            }
+        });
+    }
+
+    // ============================
+    //   REPORTS
+    // ============================
+    public DailyTransactionSummaryDto getDailySummary(LocalDate date) {
+        return getSummaries(date, date).get(0);
+    }
+
+    // One summary per day in [from, to], including days without postings
+    public List<DailyTransactionSummaryDto> getSummaries(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        Map<LocalDate, DailyTransactionSummaryDto> byDate = new LinkedHashMap<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            byDate.put(d, emptySummary(d));
+        }
+
+        for (DailyTransactionRollup row : rollupRepository.findByBusinessDateBetweenOrderByBusinessDate(from, to)) {
+            DailyTransactionSummaryDto summary = byDate.get(row.getBusinessDate());
+            summary.setTransactionCount(summary.getTransactionCount() + row.getTransactionCount());
+            summary.getTotalsByType().merge(row.getType(), row.getTotalAmount(), BigDecimal::add);
+            summary.getTotalsByTeller().merge(row.getCreatedBy(), row.getTotalAmount(), BigDecimal::add);
+        }
+        return new ArrayList<>(byDate.values());
+    }
+
+    // ============================
+    //   REBUILD FROM TRANSACTIONS
+    // ============================
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!to.isBefore(LocalDate.now())) {
+            // A posting between its commit and its rollup increment would be counted twice
+            throw new IllegalArgumentException("Only closed days can be rebuilt; the latest is " + LocalDate.now().minusDays(1));
+        }
+        int days = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            rebuildDay(d);
+            days++;
+        }
+        return days;
+    }
+
+    @Scheduled(cron = "${corebanking.transaction-rollup.rebuild-cron:0 15 0 * * *}")
+    public void scheduledRebuild() {
+        LocalDate today = LocalDate.now();
+        rebuildDay(today.minusDays(1));
+        for (DailyTransactionRollupDirtyDate dirty : dirtyDateRepository.findByBusinessDateBefore(today)) {
+            rebuildDay(dirty.getBusinessDate());
+        }
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private void rebuildDay(LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        newTransaction.executeWithoutResult(status -> {
+            dirtyDateRepository.deleteById(date);
+            rollupRepository.deleteByBusinessDate(date);
+            List<TransactionRollupView> views = new ArrayList<>(
+                    transactionRepository.sumByTypeAndCreatedByBetween(start, end));
+            if (archiveService.reachesArchive(ArchiveService.TRANSACTIONS, start)) {
+                // While the archive job runs, a day can be split across both tiers
+                views.addAll(transactionArchiveRepository.sumByTypeAndCreatedByBetween(start, end));
+            }
+
+            Map<Key, DailyTransactionRollup> rows = new HashMap<>();
+            for (TransactionRollupView view : views) {
+                if (view.getType() == null) {
+                    continue;
+                }
+                Key key = new Key(date, view.getType(), view.getCreatedBy());
+                rows.merge(key, newRow(key, view.getCount(), view.getTotal()), (a, b) -> {
+                    a.setTransactionCount(a.getTransactionCount() + b.getTransactionCount());
+                    a.setTotalAmount(a.getTotalAmount().add(b.getTotalAmount()));
+                    return a;
+                });
+            }
+            rollupRepository.saveAll(rows.values());
+        });
+    }
+
+    private void markDirty(LocalDate date) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    dirtyDateRepository.save(new DailyTransactionRollupDirtyDate(date)));
+        } catch (RuntimeException ex) {
+            // Already marked by another posting, or the database is down; a day
+            // that stays unmarked is still rebuilt the night after it closes
+        }
+    }
+
+    private void upsert(Key key, Delta delta) {
+        Boolean updated = newTransaction.execute(status -> increment(key, delta));
+        if (Boolean.TRUE.equals(updated)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    rollupRepository.saveAndFlush(newRow(key, delta.count, delta.amount)));
+        } catch (DataIntegrityViolationException ex) {
+            // Another posting inserted the row first; add to it instead
+            if (!Boolean.TRUE.equals(newTransaction.execute(status -> increment(key, delta)))) {
+                throw ex;
+            }
+        }
+    }
+
+    private boolean increment(Key key, Delta delta) {
+        return rollupRepository.increment(key.date, key.type, key.createdBy, delta.count, delta.amount) > 0;
+    }
+
+    private static DailyTransactionRollup newRow(Key key, long count, BigDecimal amount) {
+        DailyTransactionRollup row = new DailyTransactionRollup();
+        row.setBusinessDate(key.date);
+        row.setType(key.type);
+        row.setCreatedBy(key.createdBy);
+        row.setTransactionCount(count);
+        row.setTotalAmount(amount);
+        return row;
+    }
+
+    private static DailyTransactionSummaryDto emptySummary(LocalDate date) {
+        Map<TransactionType, BigDecimal> totalsByType = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            totalsByType.put(type, BigDecimal.ZERO);
+        }
+        DailyTransactionSummaryDto summary = new DailyTransactionSummaryDto();
+        summary.setDate(date);
+        summary.setTotalsByType(totalsByType);
+        summary.setTotalsByTeller(new LinkedHashMap<>());
+        return summary;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final LocalDate date;
+        private final TransactionType type;
+        private final String createdBy;
+    }
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private Delta add(BigDecimal value) {
+            count++;
+            amount = amount.add(value);
+            return this;
+        }
+    }
+
+    // Collects one transaction's postings until the poster applies them
+    static final class Bucket {
+        private final Map<Key, Delta> deltas = new HashMap<>();
+
+        void record(LocalDateTime postedAt, TransactionType type, String createdBy, BigDecimal amount) {
+            if (postedAt == null || type == null || amount == null) {
+                return;
+            }
+            Key key = new Key(postedAt.toLocalDate(), type, createdBy == null ? UNKNOWN_TELLER : createdBy);
+            deltas.computeIfAbsent(key, k -> new Delta()).add(amount);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.steve.corebanking.transaction;
+
+import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the response of recently completed transactions by idempotency key,
+ * so a client retrying the same request gets the original answer without
+ * touching the accounts or the database.
+ *
+ * Bounded by entry count (least recently used entries go first) and by age.
+ * It is a fast path only: the unique index on the transaction table is what
+ * guarantees a key is posted once, including after a restart or across
+ * instances.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyCache(@Value("${corebanking.idempotency.cache-max-entries:10000}") int maxEntries,
+                            @Value("${corebanking.idempotency.cache-ttl-seconds:900}") long ttlSeconds) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized TransactionResponseDto get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt)) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    public synchronized void put(String key, TransactionResponseDto response) {
+        entries.put(key, new Entry(response, clock.instant().plus(ttl)));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final TransactionResponseDto response;
+        private final Instant expiresAt;
+
+        private Entry(TransactionResponseDto response, Instant expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -9,6 +9,14 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+                name = "uk_transaction_idempotency_key", columnNames = "idempotency_key"),
+        indexes = {
+                @Index(name = "idx_transaction_created_at", columnList = "created_at"),
+                @Index(name = "idx_transaction_account_created", columnList = "account_number, created_at, id"),
+                @Index(name = "idx_transaction_target_created", columnList = "target_account, created_at, id"),
+                @Index(name = "idx_transaction_account_timestamp", columnList = "account_number, timestamp")
+        })
 public class Transaction {
 
     @Id
@@ -16,6 +24,7 @@ public class Transaction {
     private Long id;
 
     private String referenceId; // unique ref (optional UUID)
+    private String idempotencyKey; // client retry key, unique when present (a trigger enforces it on partitioned PostgreSQL)
     private String accountNumber; // primary account
     private String targetAccount; // for transfer
     private BigDecimal amount;
@@ -24,8 +33,9 @@ public class Transaction {
     private String narration;
     private LocalDateTime timestamp = LocalDateTime.now();
 
+    // Partition key on PostgreSQL (monthly ranges), so never null
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     private String createdBy;
 }
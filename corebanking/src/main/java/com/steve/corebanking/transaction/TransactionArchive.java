@@ -0,0 +1,57 @@
+package com.steve.corebanking.transaction;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link Transaction} moved out of the hot table by the archive job. Rows
+ * are written once and never updated, so the table only carries the indexes
+ * the history, statement and idempotency-key reads need.
+ */
+@Data
+@Entity
+@Table(name = "transaction_archive", indexes = {
+        @Index(name = "idx_transaction_archive_account_created", columnList = "account_number, created_at, id"),
+        @Index(name = "idx_transaction_archive_target_created", columnList = "target_account, created_at, id"),
+        @Index(name = "idx_transaction_archive_created_at", columnList = "created_at"),
+        @Index(name = "idx_transaction_archive_idempotency_key", columnList = "idempotency_key")
+})
+public class TransactionArchive {
+
+    @Id
+    private Long id; // kept from the hot row
+
+    private String referenceId;
+    private String idempotencyKey;
+    private String accountNumber;
+    private String targetAccount;
+    private BigDecimal amount;
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+    private String narration;
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private String createdBy;
+
+    // Read paths hand archived rows out as ordinary transactions
+    Transaction toTransaction() {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setReferenceId(referenceId);
+        tx.setIdempotencyKey(idempotencyKey);
+        tx.setAccountNumber(accountNumber);
+        tx.setTargetAccount(targetAccount);
+        tx.setAmount(amount);
+        tx.setType(type);
+        tx.setNarration(narration);
+        tx.setTimestamp(timestamp);
+        tx.setCreatedAt(createdAt);
+        tx.setCreatedBy(createdBy);
+        return tx;
+    }
+}
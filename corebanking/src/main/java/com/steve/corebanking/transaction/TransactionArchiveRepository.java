@@ -0,0 +1,134 @@
+package com.steve.corebanking.transaction;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionArchiveRepository extends JpaRepository<TransactionArchive, Long> {
+
+    // An archived posting keeps its key, so a late replay still gets the original back
+    Optional<TransactionArchive> findFirstByIdempotencyKey(String idempotencyKey);
+    List<TransactionArchive> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    // Copies hot rows as they are; created_at < :before lets PostgreSQL prune partitions
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_archive (id, reference_id, idempotency_key, account_number, target_account,
+                                         amount, type, narration, timestamp, created_at, created_by)
+        SELECT id, reference_id, idempotency_key, account_number, target_account,
+               amount, type, narration, timestamp, created_at, created_by
+        FROM transaction
+        WHERE id IN :ids AND created_at < :before
+        """, nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<Long> ids, @Param("before") LocalDateTime before);
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.accountNumber = :accountNumber
+          AND a.createdAt >= :start AND a.createdAt < :end
+        ORDER BY a.createdAt, a.id
+    """)
+    List<TransactionArchive> findByAccountNumberAndCreatedAtInRange(
+            @Param("accountNumber") String accountNumber,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.accountNumber = :accountNumber
+          AND a.createdAt >= :start AND a.createdAt < :end
+        ORDER BY a.createdAt, a.id
+    """)
+    List<TransactionArchive> findFirstInRange(
+            @Param("accountNumber") String accountNumber,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.accountNumber = :accountNumber
+          AND a.createdAt >= :start AND a.createdAt < :end
+          AND (a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.id > :id))
+        ORDER BY a.createdAt, a.id
+    """)
+    List<TransactionArchive> findInRangeAfter(
+            @Param("accountNumber") String accountNumber,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT a.type AS type, COALESCE(a.createdBy, 'UNKNOWN') AS createdBy,
+               COUNT(a) AS count, COALESCE(SUM(a.amount), 0) AS total
+        FROM TransactionArchive a
+        WHERE a.createdAt >= :start AND a.createdAt < :end
+        GROUP BY a.type, COALESCE(a.createdBy, 'UNKNOWN')
+    """)
+    List<TransactionRollupView> sumByTypeAndCreatedByBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    // ============================
+    //   ACCOUNT HISTORY (SOURCE OR TARGET)
+    // ============================
+    // Same split as the hot HISTORY_UNION: source rows, then target rows that
+    // are not already source rows
+    @Query("SELECT a FROM TransactionArchive a WHERE a.accountNumber = :accountNumber")
+    List<TransactionArchive> findBySource(@Param("accountNumber") String accountNumber, Sort sort, Limit limit);
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.targetAccount = :accountNumber
+          AND (a.accountNumber IS NULL OR a.accountNumber <> :accountNumber)
+    """)
+    List<TransactionArchive> findByTargetOnly(@Param("accountNumber") String accountNumber, Sort sort, Limit limit);
+
+    @Query("""
+        SELECT COUNT(a) FROM TransactionArchive a
+        WHERE a.accountNumber = :accountNumber
+           OR (a.targetAccount = :accountNumber
+               AND (a.accountNumber IS NULL OR a.accountNumber <> :accountNumber))
+    """)
+    long countInvolving(@Param("accountNumber") String accountNumber);
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.accountNumber = :accountNumber
+          AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+        ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<TransactionArchive> findBySourceBefore(
+            @Param("accountNumber") String accountNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT a FROM TransactionArchive a
+        WHERE a.targetAccount = :accountNumber
+          AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+        ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<TransactionArchive> findByTargetBefore(
+            @Param("accountNumber") String accountNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+}
@@ -0,0 +1,465 @@
+package com.steve.corebanking.transaction;
+
+import com.steve.corebanking.account.AccountBalanceView;
+import com.steve.corebanking.account.AccountLockManager;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountRetryExecutor;
+import com.steve.corebanking.ledger.LedgerPosting;
+import com.steve.corebanking.ledger.LedgerService;
+import com.steve.corebanking.transaction.dto.BatchTransactionResponseDto;
+import com.steve.corebanking.transaction.dto.BatchTransactionResultDto;
+import com.steve.corebanking.transaction.dto.TransactionDto;
+import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Posts many transactions in one request.
+ *
+ * Items are validated up front, then posted in chunks. Each chunk runs in one
+ * database transaction under the locks of every account it touches: balances
+ * are read once, overdraft checks run against running totals in memory, each
+ * account gets a single UPDATE for its net change, and the transaction and
+ * ledger rows go out as batch inserts. An item that fails its own checks
+ * is reported and skipped without affecting the rest of its chunk.
+ *
+ * A chunk is closed once it touches max-locked-accounts accounts, so a running
+ * batch only holds a small share of the lock stripes and single postings on
+ * other accounts are not queued behind it. If an account keeps changing under
+ * the chunk until the retries run out, the items touching that account are
+ * reported as failed and the rest of the chunk is posted without them.
+ *
+ * Items carrying an idempotency key that was already posted (in the cache, in
+ * the database, or earlier in the same batch) are reported with the original
+ * reference and not posted again. If the earlier posting under that key was a
+ * different transaction, the item is failed instead.
+ */
+@Service
+public class TransactionBatchService {
+
+    private static final String BANK_CASH_ACCOUNT = "BANK_CASH_ACCOUNT";
+
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO transaction
+                (reference_id, idempotency_key, account_number, target_account, amount, type, narration,
+                 timestamp, created_at, created_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // The version guard catches writers that bypass the account locks (other instances, OPTIMISTIC mode)
+    private static final String APPLY_BALANCE_CHANGE = """
+            UPDATE account SET balance = balance + ?, version = version + 1
+            WHERE account_number = ? AND version = ?
+            """;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final DailyTransactionRollupService rollupService;
+    private final LedgerService ledgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountLockManager accountLockManager;
+    private final AccountRetryExecutor accountRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxLockedAccounts;
+    private final int maxItems;
+
+    public TransactionBatchService(AccountRepository accountRepository,
+                                   TransactionRepository transactionRepository,
+                                   TransactionArchiveRepository transactionArchiveRepository,
+                                   IdempotencyCache idempotencyCache,
+                                   DailyTransactionRollupService rollupService,
+                                   LedgerService ledgerService,
+                                   JdbcTemplate jdbcTemplate,
+                                   AccountLockManager accountLockManager,
+                                   AccountRetryExecutor accountRetryExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${corebanking.transaction-batch.chunk-size:1000}") int chunkSize,
+                                   @Value("${corebanking.transaction-batch.max-locked-accounts:64}") int maxLockedAccounts,
+                                   @Value("${corebanking.transaction-batch.max-items:100000}") int maxItems) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        if (maxLockedAccounts < 2) {
+            throw new IllegalArgumentException("Max locked accounts must be at least 2");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.rollupService = rollupService;
+        this.ledgerService = ledgerService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountLockManager = accountLockManager;
+        this.accountRetryExecutor = accountRetryExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxLockedAccounts = maxLockedAccounts;
+        this.maxItems = maxItems;
+    }
+
+    // ============================
+    //   POST A BATCH
+    // ============================
+    public BatchTransactionResponseDto postBatch(List<TransactionDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one transaction");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxItems + " transactions");
+        }
+
+        BatchTransactionResultDto[] results = new BatchTransactionResultDto[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Map<Integer, Integer> repeatedKeys = new HashMap<>(); // item -> earlier item with the same key
+        Map<String, Integer> firstByKey = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            TransactionDto dto = items.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results[i] = BatchTransactionResultDto.failed(i, error);
+                continue;
+            }
+
+            String key = dto.getIdempotencyKey();
+            if (key != null) {
+                TransactionResponseDto cached = idempotencyCache.get(key);
+                if (cached != null) {
+                    results[i] = replayed(i, dto, cached);
+                    continue;
+                }
+                Integer first = firstByKey.putIfAbsent(key, i);
+                if (first != null) {
+                    if (TransactionService.samePosting(dto, items.get(first))) {
+                        repeatedKeys.put(i, first);
+                    } else {
+                        results[i] = BatchTransactionResultDto.failed(i, TransactionService.keyReusedMessage(key));
+                    }
+                    continue;
+                }
+            }
+            accepted.add(i);
+        }
+
+        // Items stay in submission order, so overdraft checks see earlier items' effects
+        List<Integer> chunk = new ArrayList<>();
+        Set<String> chunkAccounts = new HashSet<>();
+        for (int i : accepted) {
+            List<String> touched = TransactionService.touchedAccounts(items.get(i));
+            long newAccounts = touched.stream().filter(acc -> !chunkAccounts.contains(acc)).count();
+            if (!chunk.isEmpty()
+                    && (chunk.size() >= chunkSize || chunkAccounts.size() + newAccounts > maxLockedAccounts)) {
+                postChunk(items, chunk, results);
+                chunk = new ArrayList<>();
+                chunkAccounts.clear();
+            }
+            chunk.add(i);
+            chunkAccounts.addAll(touched);
+        }
+        if (!chunk.isEmpty()) {
+            postChunk(items, chunk, results);
+        }
+
+        repeatedKeys.forEach((i, first) -> results[i] = results[first].isSuccess()
+                ? BatchTransactionResultDto.alreadyPosted(i, results[first].getReferenceId())
+                : BatchTransactionResultDto.failed(i, results[first].getError()));
+
+        return summarize(results);
+    }
+
+    private void postChunk(List<TransactionDto> items, List<Integer> chunk, BatchTransactionResultDto[] results) {
+        List<Integer> pending = chunk;
+        while (!pending.isEmpty()) {
+            List<Integer> toPost = pending;
+            List<String> accounts = toPost.stream()
+                    .flatMap(i -> TransactionService.touchedAccounts(items.get(i)).stream())
+                    .distinct()
+                    .toList();
+
+            ChunkOutcome outcome;
+            try {
+                outcome = accountRetryExecutor.execute(accounts, () ->
+                        accountLockManager.withLocks(accounts, () ->
+                                transactionTemplate.execute(status -> postChunkInTransaction(items, toPost, accounts))));
+            } catch (BalanceConflictException ex) {
+                // Retries ran out on one account: fail only its items and post the others again
+                pending = new ArrayList<>();
+                for (int i : toPost) {
+                    if (TransactionService.touchedAccounts(items.get(i)).contains(ex.getAccountNumber())) {
+                        results[i] = BatchTransactionResultDto.failed(i, ex.getMessage());
+                    } else {
+                        pending.add(i);
+                    }
+                }
+                continue;
+            } catch (DataIntegrityViolationException ex) {
+                // Another writer posted some of the chunk's keys after they were checked:
+                // report those as replays and post the others again
+                Map<String, TransactionResponseDto> postedKeys = alreadyPostedKeys(items, toPost);
+                pending = new ArrayList<>();
+                for (int i : toPost) {
+                    TransactionDto dto = items.get(i);
+                    String key = dto.getIdempotencyKey();
+                    TransactionResponseDto original = key == null ? null : postedKeys.get(key);
+                    if (original != null) {
+                        results[i] = replayed(i, dto, original);
+                    } else {
+                        pending.add(i);
+                    }
+                }
+                if (pending.size() < toPost.size()) {
+                    continue;
+                }
+                failChunk(toPost, results);
+                return;
+            } catch (RuntimeException ex) {
+                failChunk(toPost, results);
+                return;
+            }
+
+            // Committed and unlocked by now, so the rollup upserts hold up no other posting
+            rollupService.apply(outcome.rollup);
+            outcome.results.forEach(r -> results[r.getIndex()] = r);
+            outcome.completedKeys.forEach(idempotencyCache::put);
+            return;
+        }
+    }
+
+    private ChunkOutcome postChunkInTransaction(List<TransactionDto> items,
+                                                List<Integer> chunk,
+                                                List<String> accounts) {
+        Map<String, AccountBalanceView> snapshot = accountRepository.findByAccountNumberIn(accounts).stream()
+                .collect(Collectors.toMap(AccountBalanceView::getAccountNumber, Function.identity()));
+        Map<String, BigDecimal> balances = new HashMap<>();
+        snapshot.forEach((acc, view) -> balances.put(acc, view.getBalance()));
+        Map<String, TransactionResponseDto> postedKeys = alreadyPostedKeys(items, chunk);
+
+        LocalDateTime now = LocalDateTime.now();
+        String createdBy = TransactionService.currentUsername();
+        ChunkOutcome outcome = new ChunkOutcome(chunk.size());
+        List<Object[]> transactionRows = new ArrayList<>(chunk.size());
+        List<LedgerPosting> postings = new ArrayList<>(chunk.size());
+
+        for (int i : chunk) {
+            TransactionDto dto = items.get(i);
+            String key = dto.getIdempotencyKey();
+            TransactionResponseDto original = key == null ? null : postedKeys.get(key);
+            if (original != null) {
+                outcome.results.add(replayed(i, dto, original));
+                continue;
+            }
+
+            String error = applyToBalances(dto, balances);
+            if (error != null) {
+                outcome.results.add(BatchTransactionResultDto.failed(i, error));
+                continue;
+            }
+
+            String referenceId = UUID.randomUUID().toString();
+            transactionRows.add(new Object[]{
+                    referenceId, key, dto.getAccountNumber(), dto.getTargetAccount(), dto.getAmount(),
+                    dto.getType().name(), dto.getNarration(), now, now, createdBy
+            });
+            postings.add(new LedgerPosting(
+                    debitSide(dto), creditSide(dto), dto.getAmount(), referenceId, dto.getNarration()));
+            outcome.rollup.record(now, dto.getType(), createdBy, dto.getAmount());
+            outcome.results.add(BatchTransactionResultDto.posted(i, referenceId));
+            if (key != null) {
+                outcome.completedKeys.put(key, toResponse(dto, referenceId, now));
+            }
+        }
+
+        applyBalanceChanges(snapshot, balances);
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactionRows);
+        ledgerService.createDoubleEntries(postings);
+        return outcome;
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    // Keys of this chunk that are already in the database, hot or archived, mapped to the original posting
+    private Map<String, TransactionResponseDto> alreadyPostedKeys(List<TransactionDto> items, List<Integer> chunk) {
+        List<String> keys = chunk.stream()
+                .map(i -> items.get(i).getIdempotencyKey())
+                .filter(Objects::nonNull)
+                .toList();
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, TransactionResponseDto> posted = new HashMap<>();
+        transactionRepository.findByIdempotencyKeyIn(keys)
+                .forEach(tx -> posted.put(tx.getIdempotencyKey(), TransactionService.toDto(tx)));
+        transactionArchiveRepository.findByIdempotencyKeyIn(keys)
+                .forEach(tx -> posted.put(tx.getIdempotencyKey(), TransactionService.toDto(tx.toTransaction())));
+        return posted;
+    }
+
+    private static BatchTransactionResultDto replayed(int index, TransactionDto dto, TransactionResponseDto original) {
+        return TransactionService.samePosting(dto, original)
+                ? BatchTransactionResultDto.alreadyPosted(index, original.getReferenceId())
+                : BatchTransactionResultDto.failed(index, TransactionService.keyReusedMessage(dto.getIdempotencyKey()));
+    }
+
+    // The chunk rolled back as a whole, so none of its items were posted; the cause
+    // can carry SQL and constraint names, so it is not passed on to the caller
+    private static void failChunk(List<Integer> chunk, BatchTransactionResultDto[] results) {
+        for (int i : chunk) {
+            results[i] = BatchTransactionResultDto.failed(i, "Chunk could not be posted");
+        }
+    }
+
+    private String validate(TransactionDto dto) {
+        if (dto == null) {
+            return "Transaction is required";
+        }
+        if (dto.getType() == null) {
+            return "Transaction type is required";
+        }
+        if (dto.getAccountNumber() == null) {
+            return "Account number is required";
+        }
+        if (dto.getAmount() == null || dto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be > 0";
+        }
+        if (dto.getType() == TransactionType.TRANSFER) {
+            if (dto.getTargetAccount() == null) {
+                return "Target account is required for transfers";
+            }
+            if (dto.getAccountNumber().equals(dto.getTargetAccount())) {
+                return "Source and target accounts cannot be the same";
+            }
+        }
+        return null;
+    }
+
+    // Applies the item to the running balances, or returns why it cannot be posted
+    private String applyToBalances(TransactionDto dto, Map<String, BigDecimal> balances) {
+        for (String acc : TransactionService.touchedAccounts(dto)) {
+            if (!balances.containsKey(acc)) {
+                return "Account not found with number: " + acc;
+            }
+        }
+
+        BigDecimal amount = dto.getAmount();
+        switch (dto.getType()) {
+            case DEPOSIT:
+                balances.merge(dto.getAccountNumber(), amount, BigDecimal::add);
+                return null;
+
+            case WITHDRAWAL:
+            case TRANSFER:
+                if (balances.get(dto.getAccountNumber()).compareTo(amount) < 0) {
+                    return "Insufficient funds for account: " + dto.getAccountNumber();
+                }
+                balances.merge(dto.getAccountNumber(), amount, BigDecimal::subtract);
+                if (dto.getType() == TransactionType.TRANSFER) {
+                    balances.merge(dto.getTargetAccount(), amount, BigDecimal::add);
+                }
+                return null;
+
+            default:
+                return "Unsupported transaction type";
+        }
+    }
+
+    private void applyBalanceChanges(Map<String, AccountBalanceView> snapshot, Map<String, BigDecimal> balances) {
+        List<Object[]> updates = new ArrayList<>();
+        balances.forEach((acc, balance) -> {
+            AccountBalanceView before = snapshot.get(acc);
+            BigDecimal change = balance.subtract(before.getBalance());
+            if (change.signum() != 0) {
+                updates.add(new Object[]{change, acc, before.getVersion()});
+            }
+        });
+
+        int[] counts = jdbcTemplate.batchUpdate(APPLY_BALANCE_CHANGE, updates);
+        for (int k = 0; k < counts.length; k++) {
+            if (counts[k] == 0) {
+                throw new BalanceConflictException((String) updates.get(k)[1]);
+            }
+        }
+    }
+
+    private static String debitSide(TransactionDto dto) {
+        return dto.getType() == TransactionType.DEPOSIT ? BANK_CASH_ACCOUNT : dto.getAccountNumber();
+    }
+
+    private static String creditSide(TransactionDto dto) {
+        switch (dto.getType()) {
+            case DEPOSIT:
+                return dto.getAccountNumber();
+            case TRANSFER:
+                return dto.getTargetAccount();
+            default:
+                return BANK_CASH_ACCOUNT;
+        }
+    }
+
+    private static TransactionResponseDto toResponse(TransactionDto dto, String referenceId, LocalDateTime postedAt) {
+        TransactionResponseDto response = new TransactionResponseDto();
+        response.setReferenceId(referenceId);
+        response.setIdempotencyKey(dto.getIdempotencyKey());
+        response.setAccountNumber(dto.getAccountNumber());
+        response.setTargetAccount(dto.getTargetAccount());
+        response.setAmount(dto.getAmount());
+        response.setType(dto.getType());
+        response.setNarration(dto.getNarration());
+        response.setTimestamp(postedAt.toString());
+        return response;
+    }
+
+    private static BatchTransactionResponseDto summarize(BatchTransactionResultDto[] results) {
+        BatchTransactionResponseDto response = new BatchTransactionResponseDto();
+        response.setResults(Arrays.asList(results));
+        response.setReceived(results.length);
+        response.setPosted((int) Arrays.stream(results).filter(BatchTransactionResultDto::isSuccess).count());
+        response.setFailed(results.length - response.getPosted());
+        return response;
+    }
+
+    // Names the account whose version moved, so only the items touching it are failed
+    private static final class BalanceConflictException extends OptimisticLockingFailureException {
+        private final String accountNumber;
+
+        private BalanceConflictException(String accountNumber) {
+            super("Account " + accountNumber + " changed while the batch was being posted");
+            this.accountNumber = accountNumber;
+        }
+
+        private String getAccountNumber() {
+            return accountNumber;
+        }
+    }
+
+    private static final class ChunkOutcome {
+        private final List<BatchTransactionResultDto> results;
+        private final Map<String, TransactionResponseDto> completedKeys = new HashMap<>();
+        private final DailyTransactionRollupService.Bucket rollup = new DailyTransactionRollupService.Bucket();
+
+        private ChunkOutcome(int size) {
+            this.results = new ArrayList<>(size);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.steve.corebanking.transaction;
 
+import com.steve.corebanking.transaction.dto.BatchTransactionResponseDto;
+import com.steve.corebanking.transaction.dto.CursorPageDto;
+import com.steve.corebanking.transaction.dto.DailyTransactionSummaryDto;
 import com.steve.corebanking.transaction.dto.TransactionDto;
 import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,9 +22,18 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final DailyTransactionRollupService rollupService;
+    private final TransactionExportService exportService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionBatchService transactionBatchService,
+                                 DailyTransactionRollupService rollupService,
+                                 TransactionExportService exportService) {
         this.transactionService = transactionService;
+        this.transactionBatchService = transactionBatchService;
+        this.rollupService = rollupService;
+        this.exportService = exportService;
     }
 
     @PreAuthorize("hasRole('TELLER')")
@@ -25,11 +41,64 @@ public class TransactionController {
     public ResponseEntity<?> createTransaction(@RequestBody TransactionDto dto) {
         return ResponseEntity.ok(transactionService.createTransaction(dto));
     }
+
+    @PreAuthorize("hasRole('TELLER')")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponseDto> createBatch(@RequestBody List<TransactionDto> items) {
+        return ResponseEntity.ok(transactionBatchService.postBatch(items));
+    }
     
     @PreAuthorize("hasRole('TELLER') or hasRole('ADMIN')")
     @GetMapping("/all")
-    public ResponseEntity<List<Transaction>> all() {
-        return ResponseEntity.ok(transactionService.getAllTransactions());
+    public void all(HttpServletResponse response) throws IOException {
+        // Same JSON array as before, but streamed row by row instead of built as one list
+        response.setContentType(TransactionExportFormat.JSON.getContentType());
+        exportService.export(null, null, TransactionExportFormat.JSON, response.getOutputStream());
+    }
+
+    // format: ndjson (default), csv or json; from/to are inclusive and optional
+    @PreAuthorize("hasRole('TELLER') or hasRole('ADMIN')")
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response
+    ) throws IOException {
+        TransactionExportFormat exportFormat = TransactionExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"");
+        exportService.export(from, to, exportFormat, response.getOutputStream());
+    }
+
+    @PreAuthorize("hasRole('AUDITOR') or hasRole('ADMIN')")
+    @GetMapping("/summary/daily")
+    public ResponseEntity<DailyTransactionSummaryDto> dailySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(rollupService.getDailySummary(date));
+    }
+
+    @PreAuthorize("hasRole('AUDITOR') or hasRole('ADMIN')")
+    @GetMapping("/summary/range")
+    public ResponseEntity<List<DailyTransactionSummaryDto>> summaryRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(rollupService.getSummaries(from, to));
+    }
+
+    // Recomputes the rollup from the transaction table, e.g. for days posted before it existed.
+    // Only closed days: today is still taking live increments.
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<Integer> rebuildSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(rollupService.rebuild(from, to));
     }
 
     @PreAuthorize("hasRole('TELLER') or hasRole('AUDITOR') or hasRole('ADMIN')")
@@ -55,6 +124,30 @@ public class TransactionController {
         return txPage.map(this::convertToResponse);
     }
 
+    // Keyset-paged variants: no COUNT(*) and no OFFSET, so deep pages cost the same as the first
+    @PreAuthorize("hasRole('TELLER') or hasRole('AUDITOR') or hasRole('ADMIN')")
+    @GetMapping("/account/{accountNumber}/cursor")
+    public ResponseEntity<CursorPageDto<Transaction>> byAccountCursor(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(
+                transactionService.getTransactionsByAccountCursor(accountNumber, cursor, size)
+        );
+    }
+
+    @PreAuthorize("hasRole('TELLER') or hasRole('AUDITOR') or hasRole('ADMIN')")
+    @GetMapping("/history/{accountNumber}/cursor")
+    public CursorPageDto<TransactionResponseDto> getHistoryCursor(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return transactionService.getTransactionsByAccountCursor(accountNumber, cursor, size)
+                .map(this::convertToResponse);
+    }
+
     private TransactionResponseDto convertToResponse(Transaction tx) {
         TransactionResponseDto dto = new TransactionResponseDto();
         dto.setReferenceId(tx.getReferenceId());
@@ -81,5 +174,19 @@ public class TransactionController {
                 );
     }
 
+    // Keyset-paged variant of the range above, oldest first, for long statements
+    @PreAuthorize("hasRole('TELLER') or hasRole('AUDITOR') or hasRole('ADMIN')")
+    @GetMapping("/account/{accountNumber}/range/cursor")
+    public CursorPageDto<TransactionDto> getByAccountAndDateRangeCursor(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return transactionService.getTransactionsByAccountAndDateRangeCursor(
+                accountNumber, startDate, endDate, cursor, size);
+    }
+
 
 }
@@ -0,0 +1,48 @@
+package com.steve.corebanking.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in an account's history or statement range: the (createdAt, id) of the last row returned.
+// Clients only ever pass it back; the encoding is not part of the API.
+final class TransactionCursor {
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    TransactionCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    static TransactionCursor after(Transaction tx) {
+        return new TransactionCursor(tx.getCreatedAt(), tx.getId());
+    }
+
+    LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
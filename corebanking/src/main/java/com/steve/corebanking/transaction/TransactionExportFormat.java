@@ -0,0 +1,34 @@
+package com.steve.corebanking.transaction;
+
+import java.util.Locale;
+
+public enum TransactionExportFormat {
+
+    JSON("application/json", "json"),      // one JSON array, the shape /all always returned
+    NDJSON("application/x-ndjson", "ndjson"), // one JSON object per line
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TransactionExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TransactionExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
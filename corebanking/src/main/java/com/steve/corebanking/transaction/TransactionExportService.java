@@ -0,0 +1,239 @@
+package com.steve.corebanking.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steve.corebanking.archive.ArchiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes transactions straight from a JDBC cursor to an output stream, one row
+ * at a time, so memory use does not depend on how many rows are exported.
+ *
+ * Rows are read with plain JDBC rather than through JPA: nothing is kept in a
+ * persistence context, and the fetch size makes the driver pull rows in chunks
+ * (PostgreSQL only honours it inside a transaction, hence the read-only one).
+ * Archived rows come first, then the hot table, both ordered by created_at;
+ * the repeatable-read snapshot keeps a concurrent archive run from moving rows
+ * between the two reads.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String COLUMNS = "id, reference_id, idempotency_key, account_number, target_account, "
+            + "amount, type, narration, timestamp, created_at, created_by";
+
+    static final String CSV_HEADER = "id,referenceId,idempotencyKey,accountNumber,targetAccount,"
+            + "amount,type,narration,timestamp,createdAt,createdBy";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ArchiveService archiveService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionExportService(DataSource dataSource,
+                                    ObjectMapper objectMapper,
+                                    ArchiveService archiveService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${corebanking.export.fetch-size:500}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Export fetch size must be greater than 0");
+        }
+        // Own template so the fetch size does not leak into every other JDBC query
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.archiveService = archiveService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // ============================
+    //   EXPORT
+    // ============================
+    // from and to are inclusive days; either may be null for an open end. Returns the row count.
+    public long export(LocalDate from, LocalDate to, TransactionExportFormat format, OutputStream out)
+            throws IOException {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        LocalDateTime start = from == null ? null : from.atStartOfDay();
+        LocalDateTime end = to == null ? null : to.plusDays(1).atStartOfDay();
+
+        RowWriter writer = writer(format, out);
+        try {
+            writer.begin();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (archiveService.reachesArchive(ArchiveService.TRANSACTIONS, start)) {
+                    stream("transaction_archive", start, end, writer);
+                }
+                stream("transaction", start, end, writer);
+            });
+            writer.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.count;
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private void stream(String table, LocalDateTime start, LocalDateTime end, RowWriter writer) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + table + " WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (start != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(start);
+        }
+        if (end != null) {
+            sql.append(" AND created_at < ?");
+            args.add(end);
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+            try {
+                writer.write(toTransaction(rs));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray());
+    }
+
+    private static Transaction toTransaction(ResultSet rs) throws SQLException {
+        Transaction tx = new Transaction();
+        tx.setId(rs.getLong("id"));
+        tx.setReferenceId(rs.getString("reference_id"));
+        tx.setIdempotencyKey(rs.getString("idempotency_key"));
+        tx.setAccountNumber(rs.getString("account_number"));
+        tx.setTargetAccount(rs.getString("target_account"));
+        tx.setAmount(rs.getBigDecimal("amount"));
+        String type = rs.getString("type");
+        tx.setType(type == null ? null : TransactionType.valueOf(type));
+        tx.setNarration(rs.getString("narration"));
+        tx.setTimestamp(rs.getObject("timestamp", LocalDateTime.class));
+        tx.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        tx.setCreatedBy(rs.getString("created_by"));
+        return tx;
+    }
+
+    private RowWriter writer(TransactionExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonRowWriter(objectMapper.createGenerator(out), true);
+            case NDJSON -> new JsonRowWriter(objectMapper.createGenerator(out), false);
+            case CSV -> new CsvRowWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        };
+    }
+
+    // Quotes a field only when it holds a separator, quote or line break (RFC 4180)
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String s = value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private abstract static class RowWriter {
+        long count;
+
+        abstract void begin() throws IOException;
+
+        abstract void write(Transaction tx) throws IOException;
+
+        abstract void end() throws IOException;
+    }
+
+    private static class JsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+        private final boolean array;
+
+        JsonRowWriter(JsonGenerator generator, boolean array) {
+            this.generator = generator;
+            this.array = array;
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void begin() throws IOException {
+            if (array) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        void write(Transaction tx) throws IOException {
+            generator.writeObject(tx);
+            if (!array) {
+                generator.writeRaw('\n');
+            }
+            count++;
+        }
+
+        @Override
+        void end() throws IOException {
+            if (array) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+        private final Writer out;
+
+        CsvRowWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write(CSV_HEADER);
+            out.write("\r\n");
+        }
+
+        @Override
+        void write(Transaction tx) throws IOException {
+            out.write(String.join(",",
+                    csvField(tx.getId()), csvField(tx.getReferenceId()), csvField(tx.getIdempotencyKey()),
+                    csvField(tx.getAccountNumber()), csvField(tx.getTargetAccount()), csvField(tx.getAmount()),
+                    csvField(tx.getType()), csvField(tx.getNarration()), csvField(tx.getTimestamp()),
+                    csvField(tx.getCreatedAt()), csvField(tx.getCreatedBy())));
+            out.write("\r\n");
+            count++;
+        }
+
+        @Override
+        void end() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -1,31 +1,165 @@
 package com.steve.corebanking.transaction;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccountNumber(String accountNumber);
     List<Transaction> findByTargetAccount(String accountNumber);
+    // Half-open [start, end) on createdAt, the partition key, so only the
+    // monthly partitions inside the window are scanned
     @Query("""
         SELECT t FROM Transaction t
         WHERE t.accountNumber = :accountNumber
-          AND t.timestamp BETWEEN :start AND :end
+          AND t.createdAt >= :start AND t.createdAt < :end
+        ORDER BY t.createdAt, t.id
     """)
-    List<Transaction> findByAccountNumberAndTransactionDateBetween(
+    List<Transaction> findByAccountNumberAndCreatedAtInRange(
             @Param("accountNumber") String accountNumber,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
-    boolean existsByReferenceId(String referenceId);
-    List<Transaction> findByAccountNumberOrTargetAccount(String accountNumber, String targetAccount);
-    Page<Transaction> findByAccountNumberOrTargetAccount(
-            String accountNumber, String targetAccount, Pageable pageable
+
+    // Keyset walk over the same range, oldest first, for consumers that page
+    // through long statements instead of loading them whole
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+          AND t.createdAt >= :start AND t.createdAt < :end
+        ORDER BY t.createdAt, t.id
+    """)
+    List<Transaction> findFirstInRange(
+            @Param("accountNumber") String accountNumber,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+          AND t.createdAt >= :start AND t.createdAt < :end
+          AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id))
+        ORDER BY t.createdAt, t.id
+    """)
+    List<Transaction> findInRangeAfter(
+            @Param("accountNumber") String accountNumber,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
     );
 
+    // One day's totals per type and teller; half-open [start, end) so the createdAt index is range-scanned
+    @Query("""
+        SELECT t.type AS type, COALESCE(t.createdBy, 'UNKNOWN') AS createdBy,
+               COUNT(t) AS count, COALESCE(SUM(t.amount), 0) AS total
+        FROM Transaction t
+        WHERE t.createdAt >= :start AND t.createdAt < :end
+        GROUP BY t.type, COALESCE(t.createdBy, 'UNKNOWN')
+    """)
+    List<TransactionRollupView> sumByTypeAndCreatedByBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+    List<Transaction> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    // ============================
+    //   ACCOUNT HISTORY (SOURCE OR TARGET)
+    // ============================
+    // "account_number = ? OR target_account = ?" cannot be served by one index, so
+    // each side is its own index scan and the two are stitched with UNION ALL.
+    // A row only shows up on the target side when it is not already on the source side.
+    String HISTORY_UNION = """
+        SELECT t.* FROM transaction t WHERE t.account_number = :accountNumber
+        UNION ALL
+        SELECT t.* FROM transaction t WHERE t.target_account = :accountNumber
+          AND (t.account_number IS NULL OR t.account_number <> :accountNumber)
+        """;
+
+    String HISTORY_COUNT = """
+        SELECT (SELECT COUNT(*) FROM transaction t WHERE t.account_number = :accountNumber)
+             + (SELECT COUNT(*) FROM transaction t WHERE t.target_account = :accountNumber
+                  AND (t.account_number IS NULL OR t.account_number <> :accountNumber))
+        """;
+
+    @Query(value = HISTORY_UNION, nativeQuery = true)
+    List<Transaction> findAllInvolving(@Param("accountNumber") String accountNumber);
+
+    @Query(value = "SELECT h.* FROM (" + HISTORY_UNION + ") h ORDER BY h.created_at DESC, h.id DESC",
+            countQuery = HISTORY_COUNT, nativeQuery = true)
+    Page<Transaction> findInvolvingOrderByCreatedAtDesc(@Param("accountNumber") String accountNumber,
+                                                        Pageable pageable);
+
+    @Query(value = "SELECT h.* FROM (" + HISTORY_UNION + ") h ORDER BY h.timestamp DESC, h.id DESC",
+            countQuery = HISTORY_COUNT, nativeQuery = true)
+    Page<Transaction> findInvolvingOrderByTimestampDesc(@Param("accountNumber") String accountNumber,
+                                                        Pageable pageable);
+
+
+    // Keyset seeks over an account's history, newest first. Each side is one
+    // range scan on (account, created_at, id), so cost does not grow with depth.
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Transaction> findLatestBySource(@Param("accountNumber") String accountNumber, Limit limit);
+
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+          AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Transaction> findBySourceBefore(
+            @Param("accountNumber") String accountNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.targetAccount = :accountNumber
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Transaction> findLatestByTarget(@Param("accountNumber") String accountNumber, Limit limit);
+
+    @Query("""
+        SELECT t FROM Transaction t
+        WHERE t.targetAccount = :accountNumber
+          AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Transaction> findByTargetBefore(
+            @Param("accountNumber") String accountNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // ============================
+    //   ARCHIVING
+    // ============================
+    // Oldest first, so an interrupted run leaves a clean "everything before X" cut
+    @Query("SELECT t.id FROM Transaction t WHERE t.createdAt < :before ORDER BY t.createdAt, t.id")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids AND t.createdAt < :before")
+    int deleteArchived(@Param("ids") Collection<Long> ids, @Param("before") LocalDateTime before);
 }
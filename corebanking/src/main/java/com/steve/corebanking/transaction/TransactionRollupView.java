@@ -0,0 +1,10 @@
+package com.steve.corebanking.transaction;
+
+import java.math.BigDecimal;
+
+public interface TransactionRollupView {
+    TransactionType getType();
+    String getCreatedBy();
+    long getCount();
+    BigDecimal getTotal();
+}
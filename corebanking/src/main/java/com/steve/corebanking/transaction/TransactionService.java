@@ -1,46 +1,91 @@
 package com.steve.corebanking.transaction;
 
+import com.steve.corebanking.account.AccountLockManager;
 import com.steve.corebanking.account.AccountService;
+import com.steve.corebanking.archive.ArchivePages;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.exception.IdempotencyKeyConflictException;
 import com.steve.corebanking.exception.NotFoundException;
 import com.steve.corebanking.ledger.LedgerEntry;
 import com.steve.corebanking.ledger.LedgerService;
+import com.steve.corebanking.transaction.dto.CursorPageDto;
 import com.steve.corebanking.transaction.dto.TransactionDto;
 import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.steve.corebanking.transaction.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class TransactionService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 500;
+
+    // Newest first; id breaks ties between rows created in the same instant
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getCreatedAt)
+            .thenComparing(Transaction::getId)
+            .reversed();
+
+    // Same order as the timestamp-sorted history query (PostgreSQL puts NULLs first in DESC)
+    private static final Comparator<Transaction> NEWEST_BY_TIMESTAMP_FIRST = Comparator
+            .comparing(Transaction::getTimestamp, Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(Transaction::getId, Comparator.reverseOrder());
+
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
     private final LedgerService ledgerService;
     private final TransactionMapper transactionMapper;
+    private final AccountLockManager accountLockManager;
+    private final IdempotencyCache idempotencyCache;
+    private final DailyTransactionRollupService rollupService;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final ArchiveService archiveService;
+    private final TransactionTemplate transactionTemplate;
 
     public TransactionService(TransactionRepository transactionRepository,
                               AccountService accountService,
-                              LedgerService ledgerService, TransactionMapper transactionMapper) {
+                              LedgerService ledgerService, TransactionMapper transactionMapper,
+                              AccountLockManager accountLockManager,
+                              IdempotencyCache idempotencyCache,
+                              DailyTransactionRollupService rollupService,
+                              TransactionArchiveRepository transactionArchiveRepository,
+                              ArchiveService archiveService,
+                              PlatformTransactionManager transactionManager) {
         this.transactionRepository = transactionRepository;
         this.accountService = accountService;
         this.ledgerService = ledgerService;
         this.transactionMapper = transactionMapper;
+        this.accountLockManager = accountLockManager;
+        this.idempotencyCache = idempotencyCache;
+        this.rollupService = rollupService;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.archiveService = archiveService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private TransactionResponseDto toDto(Transaction tx) {
+    static TransactionResponseDto toDto(Transaction tx) {
         TransactionResponseDto dto = new TransactionResponseDto();
         dto.setReferenceId(tx.getReferenceId());
+        dto.setIdempotencyKey(tx.getIdempotencyKey());
         dto.setAccountNumber(tx.getAccountNumber());
         dto.setTargetAccount(tx.getTargetAccount());
         dto.setAmount(tx.getAmount());
@@ -51,8 +96,25 @@ public class TransactionService {
     }
 
 
-    @Transactional
+    // The account locks are held until the database transaction has committed,
+    // otherwise a waiting teller could still read the pre-commit balance. The
+    // rollup is applied only after the locks are released.
+    // Balances change through single conditional UPDATEs, which cannot hit a
+    // version conflict, so unlike the batch path there is nothing to retry.
     public TransactionResponseDto createTransaction(TransactionDto dto) {
+        String idempotencyKey = dto.getIdempotencyKey();
+        if (idempotencyKey != null) {
+            TransactionResponseDto original = idempotencyCache.get(idempotencyKey);
+            if (original == null) {
+                // The hot table's unique index does not cover archived keys
+                original = findArchivedPosting(idempotencyKey).orElse(null);
+            }
+            if (original != null) {
+                idempotencyCache.put(idempotencyKey, original);
+                return replay(dto, original);
+            }
+        }
+
         if (dto.getAmount() == null || dto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount must be > 0");
         }
@@ -63,19 +125,90 @@ public class TransactionService {
             throw new IllegalArgumentException("Source and target accounts cannot be the same");
         }
 
+        List<String> accounts = touchedAccounts(dto);
+        DailyTransactionRollupService.Bucket rollup = new DailyTransactionRollupService.Bucket();
+        TransactionResponseDto response;
+        try {
+            response = accountLockManager.withLocks(accounts,
+                    () -> transactionTemplate.execute(status -> postTransaction(dto, rollup)));
+        } catch (DataIntegrityViolationException ex) {
+            // The key was already posted (cache miss after a restart, or another instance won the race)
+            if (idempotencyKey == null) {
+                throw ex;
+            }
+            response = transactionRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(TransactionService::toDto)
+                    .or(() -> findArchivedPosting(idempotencyKey))
+                    .orElseThrow(() -> ex);
+            idempotencyCache.put(idempotencyKey, response);
+            return replay(dto, response);
+        }
+
+        rollupService.apply(rollup);
+        if (idempotencyKey != null) {
+            idempotencyCache.put(idempotencyKey, response);
+        }
+        return response;
+    }
+
+    // Keys are global, so a key seen again on a different request is a client bug, not a retry:
+    // answering with the original would report someone else's posting as this one
+    private static TransactionResponseDto replay(TransactionDto dto, TransactionResponseDto original) {
+        if (!samePosting(dto, original)) {
+            throw new IdempotencyKeyConflictException(keyReusedMessage(dto.getIdempotencyKey()));
+        }
+        return original;
+    }
+
+    static boolean samePosting(TransactionDto dto, TransactionResponseDto original) {
+        return samePosting(dto, original.getAccountNumber(), original.getTargetAccount(),
+                original.getAmount(), original.getType());
+    }
+
+    static boolean samePosting(TransactionDto dto, TransactionDto original) {
+        return samePosting(dto, original.getAccountNumber(), original.getTargetAccount(),
+                original.getAmount(), original.getType());
+    }
+
+    private static boolean samePosting(TransactionDto dto, String accountNumber, String targetAccount,
+                                       BigDecimal amount, TransactionType type) {
+        return Objects.equals(dto.getAccountNumber(), accountNumber)
+                && Objects.equals(dto.getTargetAccount(), targetAccount)
+                && dto.getType() == type
+                && dto.getAmount() != null && amount != null
+                && dto.getAmount().compareTo(amount) == 0;
+    }
+
+    static String keyReusedMessage(String idempotencyKey) {
+        return "Idempotency key " + idempotencyKey + " was already used for a different transaction";
+    }
+
+    static List<String> touchedAccounts(TransactionDto dto) {
+        return dto.getType() == TransactionType.TRANSFER
+                ? Arrays.asList(dto.getAccountNumber(), dto.getTargetAccount())
+                : Arrays.asList(dto.getAccountNumber());
+    }
 
+    // The authenticated teller, recorded on every posting for the per-teller report
+    static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? null : auth.getName();
+    }
+
+    private TransactionResponseDto postTransaction(TransactionDto dto, DailyTransactionRollupService.Bucket rollup) {
         Transaction tx = new Transaction();
         tx.setReferenceId(UUID.randomUUID().toString());
+        tx.setIdempotencyKey(dto.getIdempotencyKey());
         tx.setAccountNumber(dto.getAccountNumber());
         tx.setAmount(dto.getAmount());
         tx.setType(dto.getType());
         tx.setNarration(dto.getNarration());
         tx.setTargetAccount(dto.getTargetAccount());
+        tx.setCreatedBy(currentUsername());
 
-        // ✅ ADD THIS CHECK HERE (BEFORE ANY FINANCIAL OPERATION)
-        if (transactionRepository.existsByReferenceId(tx.getReferenceId())) {
-            throw new IllegalStateException("Duplicate transaction attempt");
-        }
+        // Insert first: a duplicate idempotency key fails on the unique index
+        // before any balance is touched, and the whole posting rolls back
+        Transaction saved = transactionRepository.save(tx);
 
         switch (dto.getType()) {
             case DEPOSIT:
@@ -115,7 +248,9 @@ public class TransactionService {
                 throw new IllegalArgumentException("Unsupported transaction type");
         }
 
-        return toDto(transactionRepository.save(tx));
+        rollup.record(saved.getCreatedAt(), saved.getType(), saved.getCreatedBy(), saved.getAmount());
+
+        return toDto(saved);
     }
 
     private LedgerEntry createLedgerEntry(String accNum, String txRef, java.math.BigDecimal amount, LedgerEntry.EntryType type, String narration) {
@@ -128,31 +263,92 @@ public class TransactionService {
         return e;
     }
 
-    public List<Transaction> getAllTransactions() {
-
-        return transactionRepository.findAll();
-    }
-
     public Page<Transaction> getTransactionsByAccount(String accountNumber, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return transactionRepository.findByAccountNumberOrTargetAccount(
-                accountNumber,
-                accountNumber,
-                pageable
-        );
+        // Newest first by createdAt; the ordering lives in the query
+        if (!archiveService.reachesArchive(ArchiveService.TRANSACTIONS, null)) {
+            return transactionRepository.findInvolvingOrderByCreatedAtDesc(
+                    accountNumber,
+                    PageRequest.of(page, size)
+            );
+        }
+        int needed = ArchivePages.rowsNeeded(page, size);
+        Page<Transaction> hot = transactionRepository.findInvolvingOrderByCreatedAtDesc(
+                accountNumber, PageRequest.of(0, needed));
+        return ArchivePages.merge(hot.getContent(),
+                archivedInvolving(accountNumber, Sort.by(Sort.Direction.DESC, "createdAt", "id"), needed),
+                NEWEST_FIRST, page, size,
+                hot.getTotalElements() + transactionArchiveRepository.countInvolving(accountNumber));
     }
 
     public Page<Transaction> getTransactionsForAccount(
             String accountNumber, int page, int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        // Newest first by timestamp; the ordering lives in the query
+        if (!archiveService.reachesArchive(ArchiveService.TRANSACTIONS, null)) {
+            return transactionRepository.findInvolvingOrderByTimestampDesc(
+                    accountNumber,
+                    PageRequest.of(page, size)
+            );
+        }
+        int needed = ArchivePages.rowsNeeded(page, size);
+        Page<Transaction> hot = transactionRepository.findInvolvingOrderByTimestampDesc(
+                accountNumber, PageRequest.of(0, needed));
+        return ArchivePages.merge(hot.getContent(),
+                archivedInvolving(accountNumber, Sort.by(Sort.Direction.DESC, "timestamp", "id"), needed),
+                NEWEST_BY_TIMESTAMP_FIRST, page, size,
+                hot.getTotalElements() + transactionArchiveRepository.countInvolving(accountNumber));
+    }
+
+    // ============================
+    //   KEYSET (CURSOR) HISTORY
+    // ============================
+    // Reads at most size + 1 rows from each side of the account (as source and
+    // as transfer target) and merges them, so any depth costs the same. The
+    // archive is only read once the page reaches back past its watermark.
+    public CursorPageDto<Transaction> getTransactionsByAccountCursor(String accountNumber, String cursor, int size) {
+        if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
 
-        return transactionRepository.findByAccountNumberOrTargetAccount(
-                accountNumber,
-                accountNumber,   // use same field for both src & dest
-                pageable
-        );
+        Limit limit = Limit.of(size + 1);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        List<Transaction> rows = new ArrayList<>();
+        if (after == null) {
+            rows.addAll(transactionRepository.findLatestBySource(accountNumber, limit));
+            rows.addAll(transactionRepository.findLatestByTarget(accountNumber, limit));
+        } else {
+            rows.addAll(transactionRepository.findBySourceBefore(
+                    accountNumber, after.getCreatedAt(), after.getId(), limit));
+            rows.addAll(transactionRepository.findByTargetBefore(
+                    accountNumber, after.getCreatedAt(), after.getId(), limit));
+        }
+
+        List<Transaction> merged = newestFirst(rows, size + 1);
+
+        Optional<LocalDateTime> watermark = archiveService.archivedBefore(ArchiveService.TRANSACTIONS);
+        if (watermark.isPresent()
+                && (merged.size() <= size || merged.get(size).getCreatedAt().isBefore(watermark.get()))) {
+            if (after == null) {
+                Sort newest = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+                rows.addAll(toTransactions(transactionArchiveRepository.findBySource(accountNumber, newest, limit)));
+                rows.addAll(toTransactions(transactionArchiveRepository.findByTargetOnly(accountNumber, newest, limit)));
+            } else {
+                rows.addAll(toTransactions(transactionArchiveRepository.findBySourceBefore(
+                        accountNumber, after.getCreatedAt(), after.getId(), limit)));
+                rows.addAll(toTransactions(transactionArchiveRepository.findByTargetBefore(
+                        accountNumber, after.getCreatedAt(), after.getId(), limit)));
+            }
+            merged = newestFirst(rows, size + 1);
+        }
+
+        boolean hasNext = merged.size() > size;
+        List<Transaction> content = hasNext ? merged.subList(0, size) : merged;
+        String nextCursor = hasNext
+                ? TransactionCursor.after(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPageDto<>(content, hasNext, nextCursor);
     }
+
     public List<TransactionDto> getTransactionsByAccountAndDateRange(
             String accountNumber,
             LocalDate startDate,
@@ -160,18 +356,84 @@ public class TransactionService {
     ) {
 
         LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.atTime(LocalTime.MAX);
-
-        return transactionRepository
-                .findByAccountNumberAndTransactionDateBetween(
-                        accountNumber,
-                        start,
-                        end
-                )
-                .stream()
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+
+        List<Transaction> rows = new ArrayList<>(
+                transactionRepository.findByAccountNumberAndCreatedAtInRange(accountNumber, start, end));
+        if (archiveService.reachesArchive(ArchiveService.TRANSACTIONS, start)) {
+            rows.addAll(toTransactions(
+                    transactionArchiveRepository.findByAccountNumberAndCreatedAtInRange(accountNumber, start, end)));
+            rows.sort(NEWEST_FIRST.reversed());
+        }
+
+        return rows.stream()
                 .map(transactionMapper::toDto)
                 .toList();
     }
 
+    // Same rows as the range above, oldest first, size at a time. Archived rows
+    // all sort before the watermark, so the archive is skipped once the cursor is past it.
+    public CursorPageDto<TransactionDto> getTransactionsByAccountAndDateRangeCursor(
+            String accountNumber, LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+        Limit limit = Limit.of(size + 1);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        List<Transaction> rows = new ArrayList<>(after == null
+                ? transactionRepository.findFirstInRange(accountNumber, start, end, limit)
+                : transactionRepository.findInRangeAfter(
+                        accountNumber, start, end, after.getCreatedAt(), after.getId(), limit));
+
+        Optional<LocalDateTime> watermark = archiveService.archivedBefore(ArchiveService.TRANSACTIONS);
+        if (watermark.isPresent() && start.isBefore(watermark.get())
+                && (after == null || after.getCreatedAt().isBefore(watermark.get()))) {
+            rows.addAll(toTransactions(after == null
+                    ? transactionArchiveRepository.findFirstInRange(accountNumber, start, end, limit)
+                    : transactionArchiveRepository.findInRangeAfter(
+                            accountNumber, start, end, after.getCreatedAt(), after.getId(), limit)));
+        }
+
+        List<Transaction> merged = rows.stream()
+                .sorted(NEWEST_FIRST.reversed())
+                .limit(size + 1)
+                .toList();
+        boolean hasNext = merged.size() > size;
+        List<Transaction> content = hasNext ? merged.subList(0, size) : merged;
+        String nextCursor = hasNext
+                ? TransactionCursor.after(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPageDto<>(content, hasNext, nextCursor).map(transactionMapper::toDto);
+    }
+
+    /* ============================
+       INTERNAL HELPERS
+    ============================ */
+    private Optional<TransactionResponseDto> findArchivedPosting(String idempotencyKey) {
+        return transactionArchiveRepository.findFirstByIdempotencyKey(idempotencyKey)
+                .map(archived -> toDto(archived.toTransaction()));
+    }
+
+    private List<Transaction> archivedInvolving(String accountNumber, Sort sort, int limit) {
+        List<Transaction> rows = new ArrayList<>();
+        rows.addAll(toTransactions(transactionArchiveRepository.findBySource(accountNumber, sort, Limit.of(limit))));
+        rows.addAll(toTransactions(transactionArchiveRepository.findByTargetOnly(accountNumber, sort, Limit.of(limit))));
+        return rows;
+    }
 
+    private static List<Transaction> newestFirst(List<Transaction> rows, int limit) {
+        return rows.stream()
+                .sorted(NEWEST_FIRST)
+                .distinct()
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<Transaction> toTransactions(List<TransactionArchive> archived) {
+        return archived.stream().map(TransactionArchive::toTransaction).toList();
+    }
 }
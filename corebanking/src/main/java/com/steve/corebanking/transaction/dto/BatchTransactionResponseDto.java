@@ -0,0 +1,14 @@
+package com.steve.corebanking.transaction.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTransactionResponseDto {
+
+    private int received;
+    private int posted;
+    private int failed;
+    private List<BatchTransactionResultDto> results;
+}
@@ -0,0 +1,29 @@
+package com.steve.corebanking.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResultDto {
+
+    private int index;          // position of the item in the submitted array
+    private boolean success;
+    private boolean duplicate;  // idempotency key was already posted; referenceId is the original
+    private String referenceId; // set when the item was posted
+    private String error;       // set when the item was rejected
+
+    public static BatchTransactionResultDto posted(int index, String referenceId) {
+        return new BatchTransactionResultDto(index, true, false, referenceId, null);
+    }
+
+    public static BatchTransactionResultDto alreadyPosted(int index, String referenceId) {
+        return new BatchTransactionResultDto(index, true, true, referenceId, null);
+    }
+
+    public static BatchTransactionResultDto failed(int index, String error) {
+        return new BatchTransactionResultDto(index, false, false, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.steve.corebanking.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One slice of a keyset-paged listing; no total count is computed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private boolean hasNext;
+    private String nextCursor; // pass back as ?cursor= for the next slice; null on the last one
+
+    public <R> CursorPageDto<R> map(Function<T, R> mapper) {
+        return new CursorPageDto<>(content.stream().map(mapper).toList(), hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.steve.corebanking.transaction.dto;
+
+import com.steve.corebanking.transaction.TransactionType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class DailyTransactionSummaryDto {
+    private LocalDate date;
+    private long transactionCount;
+    private Map<TransactionType, BigDecimal> totalsByType;   // every type present, zero when none posted
+    private Map<String, BigDecimal> totalsByTeller;          // createdBy -> sum of amounts
+}
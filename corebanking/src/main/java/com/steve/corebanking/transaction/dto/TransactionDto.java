@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 @Data
 public class TransactionDto {
     private String referenceId;
+    private String idempotencyKey; // client-supplied; a retried request with the same key is posted once
     private String accountNumber;
     private String targetAccount;
     private BigDecimal amount;
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 public class TransactionResponseDto {
 
     private String referenceId;
+    private String idempotencyKey;
     private String accountNumber;
     private String targetAccount;
     private BigDecimal amount;
@@ -0,0 +1,51 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves ledger_entry ids from IDENTITY to the pooled ledger_entry_seq
+ * (allocation size 50) that LedgerEntry now uses.
+ *
+ * The sequence has to start above every existing id, and PostgreSQL only
+ * accepts a literal there, so the start value is computed here rather than in
+ * SQL. A sequence created earlier by ddl-auto=update starts at 1 and is
+ * restarted for the same reason.
+ */
+public class V3__Ledger_entry_pooled_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM ledger_entry")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+
+            // Hibernate's pooled optimizer hands out the block ending at the value it reads,
+            // so leave one full block of headroom above the current maximum
+            long start = maxId + ALLOCATION_SIZE + 1;
+
+            if (isIdentity(context.getConnection(), "ledger_entry", "id")) {
+                st.execute("ALTER TABLE ledger_entry ALTER COLUMN id DROP IDENTITY");
+            }
+            st.execute("CREATE SEQUENCE IF NOT EXISTS ledger_entry_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+            st.execute("ALTER SEQUENCE ledger_entry_seq RESTART WITH " + start);
+        }
+    }
+
+    // Not every database accepts DROP IDENTITY IF EXISTS, so ask the driver instead
+    private static boolean isIdentity(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(null, connection.getSchema(), table, column)) {
+            return rs.next() && "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns transaction and ledger_entry into tables range-partitioned by month on
+ * created_at, so date-bounded queries only touch the partitions in their window.
+ *
+ * The existing table is not copied: it is renamed and attached as a single
+ * partition covering everything before next month ({@code <table>_p_before_YYYY_MM}),
+ * and new monthly partitions follow it. Attaching still has to check the rows
+ * and build the (id, created_at) primary key while both tables are locked, so
+ * this version needs a maintenance window sized to the existing data.
+ * Afterwards {@code PartitionMaintenanceService} keeps partitions ahead of the
+ * clock without blocking writes.
+ *
+ * Partitioning is PostgreSQL-only; other databases (H2 in tests) only get the
+ * NOT NULL on transaction.created_at.
+ */
+public class V5__Partition_transaction_and_ledger_entry extends BaseJavaMigration {
+
+    private static final int MONTHS_AHEAD = 3;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement st = connection.createStatement()) {
+            // The partition key cannot be NULL; created_at only lagged timestamp by the insert
+            st.execute("UPDATE transaction SET created_at = COALESCE(timestamp, CURRENT_TIMESTAMP) WHERE created_at IS NULL");
+            st.execute("ALTER TABLE transaction ALTER COLUMN created_at SET NOT NULL");
+
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                    || isPartitioned(connection, "transaction")) {
+                return;
+            }
+
+            YearMonth firstMonth = YearMonth.now().plusMonths(1);
+
+            moveIdsToSequence(connection, st);
+            moveIdempotencyKeysToSideTable(st);
+
+            partition(connection, st, "transaction", firstMonth, List.of(
+                    "ALTER TABLE transaction ALTER COLUMN id SET DEFAULT nextval('transaction_id_seq')",
+                    "ALTER SEQUENCE transaction_id_seq OWNED BY transaction.id",
+                    """
+                    CREATE TRIGGER trg_transaction_idempotency_key
+                        AFTER INSERT ON transaction
+                        FOR EACH ROW WHEN (NEW.idempotency_key IS NOT NULL)
+                        EXECUTE FUNCTION transaction_claim_idempotency_key()
+                    """));
+
+            partition(connection, st, "ledger_entry", firstMonth, List.of("""
+                    ALTER TABLE ledger_entry ADD CONSTRAINT fk_ledger_entry_account
+                        FOREIGN KEY (account_id) REFERENCES account (id)
+                    """));
+        }
+    }
+
+    /* ============================ HELPER METHODS ============================ */
+
+    // Identity columns are not allowed on partitioned tables before PostgreSQL 17,
+    // so transaction ids come from a plain sequence default instead
+    private static void moveIdsToSequence(Connection connection, Statement st) throws SQLException {
+        long maxId;
+        try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM transaction")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        if (isIdentity(connection, "transaction", "id")) {
+            st.execute("ALTER TABLE transaction ALTER COLUMN id DROP IDENTITY");
+        } else {
+            st.execute("ALTER TABLE transaction ALTER COLUMN id DROP DEFAULT");
+        }
+        st.execute("CREATE SEQUENCE IF NOT EXISTS transaction_id_seq");
+        st.execute("SELECT setval('transaction_id_seq', " + (maxId + 1) + ", false)");
+    }
+
+    // A unique index on a partitioned table must include the partition key, which
+    // would make idempotency keys unique per timestamp only. Keys are claimed in a
+    // plain table instead; a duplicate still fails the insert with a unique violation.
+    private static void moveIdempotencyKeysToSideTable(Statement st) throws SQLException {
+        st.execute("ALTER TABLE transaction DROP CONSTRAINT IF EXISTS uk_transaction_idempotency_key");
+        st.execute("DROP INDEX IF EXISTS uk_transaction_idempotency_key");
+        st.execute("""
+                CREATE TABLE transaction_idempotency_key (
+                    idempotency_key  VARCHAR(255) NOT NULL,
+                    created_at       TIMESTAMP(6) NOT NULL,
+                    PRIMARY KEY (idempotency_key)
+                )
+                """);
+        st.execute("""
+                INSERT INTO transaction_idempotency_key (idempotency_key, created_at)
+                SELECT idempotency_key, created_at FROM transaction WHERE idempotency_key IS NOT NULL
+                """);
+        st.execute("""
+                CREATE FUNCTION transaction_claim_idempotency_key() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    INSERT INTO transaction_idempotency_key (idempotency_key, created_at)
+                    VALUES (NEW.idempotency_key, NEW.created_at);
+                    RETURN NEW;
+                END
+                $$
+                """);
+        st.execute("CREATE INDEX idx_transaction_idempotency_key ON transaction (idempotency_key)");
+    }
+
+    // parentDdl runs on the new, still empty parent; triggers and foreign keys
+    // declared there are cloned onto (or matched with) the partitions on attach
+    private static void partition(Connection connection, Statement st, String table, YearMonth firstMonth,
+                                  List<String> parentDdl) throws SQLException {
+        String legacy = table + "_p_before_" + suffix(firstMonth);
+
+        // Keep the secondary indexes (renamed, so the parent can reuse their names);
+        // the parent's indexes adopt them on attach instead of rebuilding them
+        List<String[]> indexes = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("""
+                SELECT i.relname, pg_get_indexdef(i.oid)
+                FROM pg_index x
+                JOIN pg_class i ON i.oid = x.indexrelid
+                WHERE x.indrelid = to_regclass(?) AND NOT x.indisprimary AND NOT x.indisunique
+                """)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    indexes.add(new String[]{rs.getString(1), rs.getString(2)});
+                }
+            }
+        }
+
+        st.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + primaryKeyName(connection, table));
+        st.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        for (String[] index : indexes) {
+            st.execute("ALTER INDEX " + index[0] + " RENAME TO " + legacyIndexName(legacy, table, index[0]));
+        }
+
+        st.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY RANGE (created_at)");
+        st.execute("ALTER TABLE " + table + " ADD PRIMARY KEY (id, created_at)");
+        for (String[] index : indexes) {
+            // Captured before the rename, so the definition already names the new parent
+            st.execute(index[1]);
+        }
+        for (String ddl : parentDdl) {
+            st.execute(ddl);
+        }
+
+        st.execute("ALTER TABLE " + table + " ATTACH PARTITION " + legacy
+                + " FOR VALUES FROM (MINVALUE) TO ('" + firstMonth.atDay(1) + "')");
+
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            YearMonth month = firstMonth.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            st.execute("CREATE TABLE " + table + "_p" + suffix(month) + " PARTITION OF " + table
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + from.plusMonths(1) + "')");
+        }
+    }
+
+    private static String legacyIndexName(String legacy, String table, String index) {
+        String name = legacy + "_" + index.replace("idx_" + table + "_", "");
+        return name.length() > 63 ? name.substring(0, 63) : name;
+    }
+
+    private static String suffix(YearMonth month) {
+        return String.format("%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static boolean isPartitioned(Connection connection, String table) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static String primaryKeyName(Connection connection, String table) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("No primary key on " + table);
+                }
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static boolean isIdentity(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(null, connection.getSchema(), table, column)) {
+            return rs.next() && "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+}
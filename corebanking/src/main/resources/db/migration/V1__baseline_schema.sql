@@ -0,0 +1,72 @@
+-- Baseline: the corebanking schema as Hibernate auto-DDL created it before
+-- migrations were introduced. IF NOT EXISTS lets this run against databases
+-- that were built by ddl-auto (Flyway baselines them at version 0).
+
+CREATE TABLE IF NOT EXISTS customer (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    address     VARCHAR(255),
+    bvn         VARCHAR(255) UNIQUE,
+    email       VARCHAR(255),
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    phone       VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS account (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_number  VARCHAR(255) UNIQUE,
+    account_type    VARCHAR(255) CHECK (account_type IN ('SAVINGS', 'CURRENT')),
+    balance         NUMERIC(38, 2),
+    customer_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_account_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+CREATE TABLE IF NOT EXISTS transaction (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    reference_id    VARCHAR(255),
+    account_number  VARCHAR(255),
+    target_account  VARCHAR(255),
+    amount          NUMERIC(38, 2),
+    type            VARCHAR(255) CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER')),
+    narration       VARCHAR(255),
+    timestamp       TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    created_by      VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS ledger_entry (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_number  VARCHAR(255),
+    account_id      BIGINT,
+    transaction_id  VARCHAR(255),
+    amount          NUMERIC(19, 2) NOT NULL,
+    entry_type      VARCHAR(255) CHECK (entry_type IN ('DEBIT', 'CREDIT')),
+    narration       VARCHAR(255),
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ledger_entry_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE TABLE IF NOT EXISTS role (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name  VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username  VARCHAR(255) NOT NULL UNIQUE,
+    password  VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id  BIGINT NOT NULL,
+    role_id  BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+);
@@ -0,0 +1,27 @@
+-- Columns and tables added since the baseline: optimistic locking on account,
+-- client idempotency keys, ledger balance checkpoints and the daily rollup.
+-- Written to be a no-op where ddl-auto=update already added them.
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE transaction ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS ledger_balance_checkpoint (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_number  VARCHAR(255) NOT NULL UNIQUE,
+    last_entry_id   BIGINT,
+    as_of           TIMESTAMP(6) NOT NULL,
+    balance         NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS daily_transaction_rollup (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_date      DATE NOT NULL,
+    type               VARCHAR(255) NOT NULL CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER')),
+    created_by         VARCHAR(255) NOT NULL,
+    transaction_count  BIGINT NOT NULL,
+    total_amount       NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_rollup_date_type_teller UNIQUE (business_date, type, created_by)
+);
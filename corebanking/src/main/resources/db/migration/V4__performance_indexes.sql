@@ -0,0 +1,31 @@
+-- Indexes for the hot Transaction and LedgerEntry lookups.
+--
+-- The concurrently placeholder expands to CONCURRENTLY in production, so
+-- PostgreSQL builds each index without blocking writes while the old version
+-- is still serving traffic; this script therefore runs outside a transaction
+-- (see the .conf file). If a concurrent build fails it leaves an INVALID
+-- index behind: drop it and re-run the migration.
+
+CREATE UNIQUE INDEX ${concurrently} IF NOT EXISTS uk_transaction_idempotency_key
+    ON transaction (idempotency_key);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_transaction_created_at
+    ON transaction (created_at);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_transaction_account_created
+    ON transaction (account_number, created_at, id);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_transaction_target_created
+    ON transaction (target_account, created_at, id);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_transaction_account_timestamp
+    ON transaction (account_number, timestamp);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_ledger_entry_account_created
+    ON ledger_entry (account_number, created_at);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_ledger_entry_created_at
+    ON ledger_entry (created_at);
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_ledger_entry_account_id
+    ON ledger_entry (account_id);
@@ -0,0 +1,49 @@
+-- Cold tier for transaction and ledger_entry rows past the hot horizon (see
+-- ArchiveService). Rows are inserted once and never updated, and only the
+-- indexes the history, statement and rollup reads need are kept. The tables
+-- start empty, so plain index builds do not block anything.
+
+CREATE TABLE IF NOT EXISTS transaction_archive (
+    id               BIGINT NOT NULL,
+    reference_id     VARCHAR(255),
+    idempotency_key  VARCHAR(255),
+    account_number   VARCHAR(255),
+    target_account   VARCHAR(255),
+    amount           NUMERIC(38, 2),
+    type             VARCHAR(255) CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER')),
+    narration        VARCHAR(255),
+    timestamp        TIMESTAMP(6),
+    created_at       TIMESTAMP(6) NOT NULL,
+    created_by       VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_archive_account_created
+    ON transaction_archive (account_number, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_archive_target_created
+    ON transaction_archive (target_account, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_archive_created_at
+    ON transaction_archive (created_at);
+
+CREATE TABLE IF NOT EXISTS ledger_entry_archive (
+    id               BIGINT NOT NULL,
+    account_number   VARCHAR(255),
+    account_id       BIGINT,
+    transaction_id   VARCHAR(255),
+    amount           NUMERIC(19, 2) NOT NULL,
+    entry_type       VARCHAR(255) CHECK (entry_type IN ('DEBIT', 'CREDIT')),
+    narration        VARCHAR(255),
+    created_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_entry_archive_account_created
+    ON ledger_entry_archive (account_number, created_at);
+
+CREATE TABLE IF NOT EXISTS archive_watermark (
+    table_name       VARCHAR(255) NOT NULL,
+    archived_before  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (table_name)
+);
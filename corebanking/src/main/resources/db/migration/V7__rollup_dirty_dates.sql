@@ -0,0 +1,6 @@
+-- Days whose rollup missed an increment, rebuilt by the nightly job once closed.
+
+CREATE TABLE IF NOT EXISTS daily_transaction_rollup_dirty (
+    business_date  DATE NOT NULL,
+    PRIMARY KEY (business_date)
+);
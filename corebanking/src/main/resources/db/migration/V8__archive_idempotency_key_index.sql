@@ -0,0 +1,7 @@
+-- Lets a replayed posting find its original after the row was archived.
+--
+-- The archive can be large by now, so in production the index is built
+-- concurrently, outside a transaction (see the .conf file), as in V4.
+
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_transaction_archive_idempotency_key
+    ON transaction_archive (idempotency_key);
@@ -0,0 +1,106 @@
+package com.steve.corebanking.account;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of transfers on disjoint accounts as threads are added. Each
+ * thread owns its own pair of accounts on stripes nobody else uses, so with
+ * per-account locking the rate should grow with the thread count instead of
+ * staying at the single-thread rate, as it did under the old global lock.
+ *
+ * Wall-clock bound, so it only runs on request rather than in every build.
+ *
+ * Run with: mvn test -Dtest=AccountLockBenchmarkIT -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AccountLockBenchmarkIT {
+
+    private static final int OPS_PER_THREAD = 200;
+
+    private final AccountLockManager lockManager = new AccountLockManager(64);
+
+    @Test
+    void unrelatedAccountsShouldProceedInParallel() throws Exception {
+        int maxThreads = Math.min(16, Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+        measureDisjointTransfers(maxThreads); // warm-up
+        double serial = measureDisjointTransfers(1);
+        double widest = measureDisjointTransfers(maxThreads);
+
+        System.out.printf("==== disjoint transfers: 1 thread %,.0f ops/s, %d threads %,.0f ops/s, speedup %.1fx%n",
+                serial, maxThreads, widest, widest / serial);
+
+        assertThat(widest).isGreaterThan(serial * 1.5);
+    }
+
+    private double measureDisjointTransfers(int threads) throws Exception {
+        List<String> disjoint = accountsOnDistinctStripes(threads * 2);
+        AtomicInteger threadIds = new AtomicInteger();
+        long start = System.nanoTime();
+
+        runConcurrently(threads, () -> {
+            int id = threadIds.getAndIncrement();
+            List<String> accounts = disjoint.subList(id * 2, id * 2 + 2);
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                lockManager.withLocks(accounts, () -> {
+                    // Stand-in for the database round trip done under the lock
+                    LockSupport.parkNanos(100_000);
+                    return null;
+                });
+            }
+        });
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return threads * OPS_PER_THREAD / seconds;
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private List<String> accountsOnDistinctStripes(int count) {
+        List<String> accounts = new ArrayList<>();
+        Map<Integer, String> byStripe = new HashMap<>();
+        for (int i = 0; accounts.size() < count; i++) {
+            String candidate = "012" + (100000 + i);
+            if (byStripe.putIfAbsent(lockManager.stripeFor(candidate), candidate) == null) {
+                accounts.add(candidate);
+            }
+        }
+        return accounts;
+    }
+
+    private static void runConcurrently(int threads, Runnable work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.steve.corebanking.account;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class AccountLockManagerTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final AccountLockManager lockManager = new AccountLockManager(64);
+
+    // =========================
+    // NO LOST UPDATES
+    // =========================
+    @Test
+    void concurrentDepositsOnHotAccountShouldNotLoseUpdates() throws Exception {
+        long[] balance = {0};
+        int perThread = 2_000;
+
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < perThread; i++) {
+                lockManager.withLocks(List.of("012000001"), () -> {
+                    long read = balance[0];
+                    Thread.yield(); // widen the read-modify-write window
+                    balance[0] = read + 1;
+                    return null;
+                });
+            }
+        });
+
+        assertThat(balance[0]).isEqualTo((long) THREADS * perThread);
+    }
+
+    @Test
+    void concurrentTransfersShouldConserveMoneyAndNeverOverdraw() throws Exception {
+        int accounts = 20;
+        long opening = 1_000;
+        Map<String, Long> balances = new HashMap<>();
+        for (int i = 0; i < accounts; i++) {
+            balances.put(accountNumber(i), opening);
+        }
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 2_000; i++) {
+                String from = accountNumber(random.nextInt(accounts));
+                String to = accountNumber(random.nextInt(accounts));
+                if (from.equals(to)) {
+                    continue;
+                }
+                long amount = 1 + random.nextInt(50);
+
+                lockManager.withLocks(List.of(from, to), () -> {
+                    long source = balances.get(from);
+                    if (source < amount) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                    Thread.yield();
+                    balances.put(from, source - amount);
+                    balances.put(to, balances.get(to) + amount);
+                    return null;
+                });
+            }
+        });
+
+        long total = balances.values().stream().mapToLong(Long::longValue).sum();
+        assertThat(total).isEqualTo(accounts * opening);
+        assertThat(balances.values()).allMatch(b -> b >= 0);
+    }
+
+    // =========================
+    // DEADLOCK FREEDOM
+    // =========================
+    @Test
+    void opposingTransfersShouldNotDeadlock() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () ->
+                runConcurrently(THREADS, () -> {
+                    boolean forward = ThreadLocalRandom.current().nextBoolean();
+                    for (int i = 0; i < 5_000; i++) {
+                        List<String> accounts = forward
+                                ? List.of("012000001", "012000002")
+                                : List.of("012000002", "012000001");
+                        lockManager.withLocks(accounts, () -> {
+                            Thread.yield();
+                            return null;
+                        });
+                    }
+                }));
+    }
+
+    @Test
+    void locksShouldBeReleasedWhenActionThrows() throws Exception {
+        assertThatThrownBy(() -> lockManager.withLocks(List.of("012000001", "012000002"), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = other.submit(() ->
+                    lockManager.withLocks(List.of("012000002", "012000001"), () -> "acquired"));
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("acquired");
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void nullAccountNumbersShouldBeIgnored() {
+        List<String> accounts = new ArrayList<>();
+        accounts.add("012000001");
+        accounts.add(null);
+
+        assertThat(lockManager.withLocks(accounts, () -> "ok")).isEqualTo("ok");
+    }
+
+    // =========================
+    // INDEPENDENT STRIPES
+    // =========================
+    @Test
+    void unrelatedAccountsShouldBeLockedAtTheSameTime() throws Exception {
+        List<String> disjoint = accountsOnDistinctStripes(4);
+        CountDownLatch bothInside = new CountDownLatch(2);
+        AtomicInteger threadIds = new AtomicInteger();
+        AtomicInteger sawTheOther = new AtomicInteger();
+
+        // Each thread waits inside withLocks for the other to get in too, which
+        // can only happen if neither queues behind the other's stripes
+        runConcurrently(2, () -> {
+            int id = threadIds.getAndIncrement();
+            lockManager.withLocks(disjoint.subList(id * 2, id * 2 + 2), () -> {
+                bothInside.countDown();
+                try {
+                    if (bothInside.await(5, TimeUnit.SECONDS)) {
+                        sawTheOther.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        });
+
+        assertThat(sawTheOther).hasValue(2);
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static String accountNumber(int i) {
+        return "012" + (100000 + i);
+    }
+
+    private List<String> accountsOnDistinctStripes(int count) {
+        List<String> accounts = new ArrayList<>();
+        Map<Integer, String> byStripe = new HashMap<>();
+        for (int i = 0; accounts.size() < count; i++) {
+            String candidate = accountNumber(i);
+            if (byStripe.putIfAbsent(lockManager.stripeFor(candidate), candidate) == null) {
+                accounts.add(candidate);
+            }
+        }
+        return accounts;
+    }
+
+    private static void runConcurrently(int threads, Runnable work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.steve.corebanking.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AccountRetryExecutorTest {
+
+    private final AccountRetryExecutor executor = new AccountRetryExecutor(3, 1, 5);
+
+    // =========================
+    // RETRY ON CONFLICT
+    // =========================
+    @Test
+    void shouldRetryUntilUnitOfWorkSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(List.of("012123456"), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "posted";
+        });
+
+        assertThat(result).isEqualTo("posted");
+        assertThat(attempts).hasValue(3);
+
+        AccountContentionStats stats = executor.getContentionStats().get(0);
+        assertThat(stats.getAccountNumber()).isEqualTo("012123456");
+        assertThat(stats.getConflicts()).isEqualTo(2);
+        assertThat(stats.getRetries()).isEqualTo(2);
+        assertThat(stats.getExhausted()).isZero();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(List.of("012123456", "012654321"), () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(executor.getContentionStats())
+                .hasSize(2)
+                .allSatisfy(stats -> {
+                    assertThat(stats.getConflicts()).isEqualTo(3);
+                    assertThat(stats.getRetries()).isEqualTo(2);
+                    assertThat(stats.getExhausted()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(List.of("012123456"), () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(executor.getContentionStats()).isEmpty();
+    }
+
+    // =========================
+    // HOT ACCOUNTS FIRST
+    // =========================
+    @Test
+    void shouldReportHottestAccountsFirst() {
+        AtomicInteger attempts = new AtomicInteger();
+        executor.execute(List.of("COLD"), () -> attempts.getAndIncrement() < 1 ? throwConflict() : null);
+        attempts.set(0);
+        executor.execute(List.of("HOT"), () -> attempts.getAndIncrement() < 2 ? throwConflict() : null);
+
+        assertThat(executor.getContentionStats())
+                .extracting(AccountContentionStats::getAccountNumber)
+                .containsExactly("HOT", "COLD");
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Account.class, 1L);
+    }
+
+    private static Object throwConflict() {
+        throw conflict();
+    }
+}
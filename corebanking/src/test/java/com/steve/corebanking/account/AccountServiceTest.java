@@ -78,16 +78,24 @@ class AccountServiceTest {
     // =========================
     @Test
     void shouldCreditAccountSuccessfully() {
-        when(accountRepository.findByAccountNumber("012123456"))
-                .thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class)))
-                .thenReturn(account);
+        when(accountRepository.credit("012123456", BigDecimal.valueOf(500)))
+                .thenReturn(1);
 
-        Account result = accountService.creditAccount(
-                "012123456", BigDecimal.valueOf(500));
+        accountService.creditAccount("012123456", BigDecimal.valueOf(500));
 
-        assertThat(result.getBalance())
-                .isEqualByComparingTo("1500");
+        verify(accountRepository).credit("012123456", BigDecimal.valueOf(500));
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void shouldThrowWhenCreditingUnknownAccount() {
+        when(accountRepository.credit("000", BigDecimal.TEN))
+                .thenReturn(0);
+
+        assertThatThrownBy(() ->
+                accountService.creditAccount("000", BigDecimal.TEN))
+                .isInstanceOf(NotFoundException.class);
     }
 
     @Test
@@ -102,28 +110,40 @@ class AccountServiceTest {
     // =========================
     @Test
     void shouldDebitAccountSuccessfully() {
-        when(accountRepository.findByAccountNumber("012123456"))
-                .thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class)))
-                .thenReturn(account);
+        when(accountRepository.debitIfSufficient("012123456", BigDecimal.valueOf(300)))
+                .thenReturn(1);
 
-        Account result = accountService.debitAccount(
-                "012123456", BigDecimal.valueOf(300));
+        accountService.debitAccount("012123456", BigDecimal.valueOf(300));
 
-        assertThat(result.getBalance())
-                .isEqualByComparingTo("700");
+        verify(accountRepository).debitIfSufficient("012123456", BigDecimal.valueOf(300));
+        verify(accountRepository, never()).existsByAccountNumber(anyString());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
     void shouldThrowExceptionWhenInsufficientFunds() {
-        when(accountRepository.findByAccountNumber("012123456"))
-                .thenReturn(Optional.of(account));
+        when(accountRepository.debitIfSufficient("012123456", BigDecimal.valueOf(2000)))
+                .thenReturn(0);
+        when(accountRepository.existsByAccountNumber("012123456"))
+                .thenReturn(true);
 
         assertThatThrownBy(() ->
                 accountService.debitAccount("012123456", BigDecimal.valueOf(2000)))
                 .isInstanceOf(InsufficientFundsException.class);
     }
 
+    @Test
+    void shouldThrowWhenDebitingUnknownAccount() {
+        when(accountRepository.debitIfSufficient("000", BigDecimal.TEN))
+                .thenReturn(0);
+        when(accountRepository.existsByAccountNumber("000"))
+                .thenReturn(false);
+
+        assertThatThrownBy(() ->
+                accountService.debitAccount("000", BigDecimal.TEN))
+                .isInstanceOf(NotFoundException.class);
+    }
+
     // =========================
     // CREATE ACCOUNT
     // =========================
@@ -0,0 +1,147 @@
+package com.steve.corebanking.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private final AuthRepository authRepository = mock(AuthRepository.class);
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldServeRepeatLookupsFromCacheUntilTtl() {
+        CustomUserDetailsService service = new CustomUserDetailsService(authRepository, 10, Duration.ofMinutes(5), clock);
+        when(authRepository.findByUsername("teller01")).thenReturn(Optional.of(user("teller01", "ROLE_TELLER")));
+
+        UserDetails first = service.loadUserByUsername("teller01");
+        UserDetails second = service.loadUserByUsername("teller01");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_TELLER");
+        verify(authRepository, times(1)).findByUsername("teller01");
+
+        clock.advance(Duration.ofMinutes(5));
+        service.loadUserByUsername("teller01");
+        verify(authRepository, times(2)).findByUsername("teller01");
+
+        AuthCacheStats stats = service.getCacheStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadRolesAfterEvict() {
+        CustomUserDetailsService service = new CustomUserDetailsService(authRepository, 10, Duration.ofMinutes(5), clock);
+        when(authRepository.findByUsername("teller01")).thenReturn(Optional.of(user("teller01", "ROLE_TELLER")));
+        service.loadUserByUsername("teller01");
+
+        when(authRepository.findByUsername("teller01")).thenReturn(Optional.of(user("teller01", "ROLE_AUDITOR")));
+        service.evict("teller01");
+
+        assertThat(service.loadUserByUsername("teller01").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUDITOR");
+        assertThat(service.getCacheStats().getInvalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void loadRacingAnEvictShouldNotCacheWhatItRead() {
+        CustomUserDetailsService service = new CustomUserDetailsService(authRepository, 10, Duration.ofMinutes(5), clock);
+        // The role change commits and evicts while this load is reading the old roles
+        when(authRepository.findByUsername("teller01")).thenAnswer(inv -> {
+            service.evict("teller01");
+            return Optional.of(user("teller01", "ROLE_TELLER"));
+        });
+        service.loadUserByUsername("teller01");
+
+        when(authRepository.findByUsername("teller01")).thenReturn(Optional.of(user("teller01", "ROLE_AUDITOR")));
+
+        assertThat(service.loadUserByUsername("teller01").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUDITOR");
+        assertThat(service.loadUserByUsername("teller01").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUDITOR");
+        verify(authRepository, times(2)).findByUsername("teller01");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedUserWhenFull() {
+        CustomUserDetailsService service = new CustomUserDetailsService(authRepository, 2, Duration.ofMinutes(5), clock);
+        for (String name : new String[]{"a", "b", "c"}) {
+            when(authRepository.findByUsername(name)).thenReturn(Optional.of(user(name, "ROLE_TELLER")));
+        }
+        service.loadUserByUsername("a");
+        service.loadUserByUsername("b");
+        service.loadUserByUsername("a"); // b is now the eldest
+        service.loadUserByUsername("c");
+
+        service.loadUserByUsername("a");
+        service.loadUserByUsername("b");
+
+        verify(authRepository, times(1)).findByUsername("a");
+        verify(authRepository, times(2)).findByUsername("b");
+        assertThat(service.getCacheStats().getSize()).isEqualTo(2);
+        assertThat(service.getCacheStats().getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUser() {
+        CustomUserDetailsService service = new CustomUserDetailsService(authRepository, 10, Duration.ofMinutes(5), clock);
+        when(authRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+
+        verify(authRepository, times(2)).findByUsername("ghost");
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRoles(new HashSet<>(Set.of(new Role(null, role))));
+        return user;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
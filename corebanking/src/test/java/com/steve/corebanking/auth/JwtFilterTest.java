@@ -0,0 +1,61 @@
+package com.steve.corebanking.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtFilterTest {
+
+    private final AuthRepository authRepository = mock(AuthRepository.class);
+    private final JwtUtil jwtUtil = new JwtUtil(new JwtConfig("", "", ""));
+    private final VerifiedTokenCache tokenCache = new VerifiedTokenCache(100);
+    // Refreshes never run, so only invalidate() makes the cache re-read the database
+    private final UserIdCache userIdCache = new UserIdCache(authRepository, 100, Duration.ofMinutes(1),
+            Clock.systemUTC(), task -> { });
+    private final JwtFilter claimsOnlyFilter = new JwtFilter(jwtUtil, mock(CustomUserDetailsService.class),
+            tokenCache, userIdCache, true);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsOnlyShouldRejectACachedTokenOfARemovedUser() throws Exception {
+        String token = jwtUtil.generateToken(JwtUtilTest.user("teller01", "ROLE_TELLER"));
+        when(authRepository.findIdByUsername("teller01")).thenReturn(Optional.of(7L));
+
+        assertThat(filter(token)).isNotNull();
+        assertThat(tokenCache.size()).isEqualTo(1);
+
+        // Removed from the database; the id cache has caught up, the token cache has not
+        when(authRepository.findIdByUsername("teller01")).thenReturn(Optional.empty());
+        userIdCache.invalidate("teller01");
+
+        assertThat(filter(token)).isNull();
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader("Authorization", "Bearer " + token);
+        claimsOnlyFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,143 @@
+package com.steve.corebanking.auth;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private final JwtConfig config = new JwtConfig("", "", "");
+    private final JwtUtil jwtUtil = new JwtUtil(config);
+
+    @Test
+    void parseShouldReturnTheSignedClaims() {
+        User user = user("teller01", "ROLE_TELLER", "ROLE_AUDITOR");
+
+        String token = jwtUtil.generateToken(user);
+        JwtClaims claims = jwtUtil.parse(token);
+
+        assertThat(claims.getUsername()).isEqualTo("teller01");
+        assertThat(claims.getRoles()).containsExactlyInAnyOrder("ROLE_TELLER", "ROLE_AUDITOR");
+        assertThat(claims.getExpiresAt()).isAfter(claims.getIssuedAt());
+        assertThat(claims.isIssuedTo(user)).isTrue();
+        assertThat(claims.isIssuedTo(user("someone-else"))).isFalse();
+
+        var header = Jwts.parserBuilder().setSigningKey(config.getVerificationKey()).build()
+                .parseClaimsJws(token).getHeader();
+        assertThat(header.getAlgorithm()).isEqualTo("RS256");
+        assertThat(header.getKeyId()).isEqualTo(config.getKeyId());
+    }
+
+    @Test
+    void shouldSignWithEs256ForAnEcKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        JwtConfig ecConfig = new JwtConfig(generator.generateKeyPair(), "ec-1");
+        JwtUtil ecJwtUtil = new JwtUtil(ecConfig);
+
+        JwtClaims claims = ecJwtUtil.parse(ecJwtUtil.generateToken(user("teller01", "ROLE_TELLER")));
+
+        assertThat(claims.getUsername()).isEqualTo("teller01");
+        assertThat(ecConfig.getPublicJwk())
+                .containsEntry("kty", "EC")
+                .containsEntry("crv", "P-256")
+                .containsEntry("alg", "ES256")
+                .containsEntry("kid", "ec-1");
+    }
+
+    @Test
+    void parseShouldRejectATokenSignedWithAnotherKey() {
+        String forged = new JwtUtil(new JwtConfig("", "", config.getKeyId()))
+                .generateToken(user("teller01", "ROLE_ADMIN"));
+
+        assertThatThrownBy(() -> jwtUtil.parse(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void parseShouldRejectAnExpiredToken() {
+        String expired = Jwts.builder()
+                .setSubject("teller01")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(config.getSigningKey(), config.getAlgorithm())
+                .compact();
+
+        assertThatThrownBy(() -> jwtUtil.parse(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void publicJwkShouldUseTheRfc7638ThumbprintAsKid() throws Exception {
+        // Example key and thumbprint from RFC 7638, section 3.1
+        String n = "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAtVT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPeb"
+                + "WKRXjBZCiFV4n3oknjhMstn64tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FDW2QvzqY368QQMi"
+                + "cAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n91CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3"
+                + "XPksINHaQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw";
+        PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode(n)), BigInteger.valueOf(65537)));
+
+        JwtConfig rfcConfig = new JwtConfig(new KeyPair(publicKey, null), null);
+
+        assertThat(rfcConfig.getKeyId()).isEqualTo("NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs");
+        assertThat(rfcConfig.getPublicJwk())
+                .containsEntry("n", n)
+                .containsEntry("e", "AQAB")
+                .containsEntry("alg", "RS256")
+                .containsEntry("use", "sig");
+    }
+
+    @Test
+    void configuredKeysShouldBeCheckedToBeOnePair() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        KeyPair first = rsa.generateKeyPair();
+        KeyPair second = rsa.generateKeyPair();
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ec = ecGenerator.generateKeyPair();
+
+        assertThatThrownBy(() -> new JwtConfig(pem("PRIVATE KEY", first.getPrivate().getEncoded()),
+                pem("PUBLIC KEY", second.getPublic().getEncoded()), ""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("jwt.private-key and jwt.public-key are not the same key pair");
+
+        JwtConfig rsaConfig = new JwtConfig(pem("PRIVATE KEY", first.getPrivate().getEncoded()),
+                pem("PUBLIC KEY", first.getPublic().getEncoded()), "");
+        JwtConfig ecConfig = new JwtConfig(pem("PRIVATE KEY", ec.getPrivate().getEncoded()),
+                pem("PUBLIC KEY", ec.getPublic().getEncoded()), "");
+        assertThat(rsaConfig.getVerificationKey()).isEqualTo(first.getPublic());
+        assertThat(ecConfig.getVerificationKey()).isEqualTo(ec.getPublic());
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    static User user(String username, String... roles) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRoles(Stream.of(roles)
+                .map(name -> new Role(null, name))
+                .collect(Collectors.toSet()));
+        return user;
+    }
+}
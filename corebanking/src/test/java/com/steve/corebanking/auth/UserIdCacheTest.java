@@ -0,0 +1,92 @@
+package com.steve.corebanking.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserIdCacheTest {
+
+    private final AuthRepository authRepository = mock(AuthRepository.class);
+    private final MutableClock clock = new MutableClock();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private final UserIdCache cache = new UserIdCache(authRepository, 10, Duration.ofSeconds(60), clock, refreshes::add);
+
+    @Test
+    void shouldReadDatabaseOnlyOnMiss() {
+        when(authRepository.findIdByUsername("teller01")).thenReturn(Optional.of(7L));
+
+        assertThat(cache.findUserId("teller01")).contains(7L);
+        assertThat(cache.findUserId("teller01")).contains(7L);
+
+        verify(authRepository, times(1)).findIdByUsername("teller01");
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    void shouldServeStaleIdAndRefreshInBackground() {
+        when(authRepository.findIdByUsername("teller01")).thenReturn(Optional.of(7L));
+        cache.findUserId("teller01");
+        clock.advance(Duration.ofSeconds(61));
+
+        assertThat(cache.findUserId("teller01")).contains(7L);
+        assertThat(cache.findUserId("teller01")).contains(7L);
+        assertThat(refreshes).hasSize(1); // queued once, not once per request
+
+        // The user was removed in the meantime
+        when(authRepository.findIdByUsername("teller01")).thenReturn(Optional.empty());
+        refreshes.poll().run();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.findUserId("teller01")).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsername() {
+        when(authRepository.findIdByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThat(cache.findUserId("ghost")).isEmpty();
+        assertThat(cache.findUserId("ghost")).isEmpty();
+
+        verify(authRepository, times(2)).findIdByUsername("ghost");
+        assertThat(cache.size()).isZero();
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
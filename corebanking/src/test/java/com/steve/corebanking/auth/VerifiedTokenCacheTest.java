@@ -0,0 +1,139 @@
+package com.steve.corebanking.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldReturnCachedPrincipalUntilTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        CustomUserDetails principal = principal("teller01");
+        cache.put("token-1", claims("teller01", Duration.ofMinutes(30)), principal, authorities("ROLE_TELLER"), 0);
+
+        VerifiedTokenCache.Entry entry = cache.get("token-1");
+        assertThat(entry.getPrincipal()).isSameAs(principal);
+        assertThat(entry.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_TELLER");
+
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.size()).isZero();
+
+        AuthCacheStats stats = cache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+        assertThat(stats.getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropEveryTokenOfUserOnInvalidate() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.put("token-1", claims("teller01", Duration.ofMinutes(30)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+        cache.put("token-2", claims("teller01", Duration.ofMinutes(30)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+        cache.put("token-3", claims("auditor01", Duration.ofMinutes(30)), principal("auditor01"), authorities("ROLE_AUDITOR"), 0);
+
+        cache.invalidateUser("teller01");
+
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.get("token-2")).isNull();
+        assertThat(cache.get("token-3")).isNotNull();
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStayWithinMaxEntriesPreferringExpiredTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.put("short", claims("teller01", Duration.ofMinutes(1)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+        for (int i = 0; i < 9; i++) {
+            cache.put("token-" + i, claims("teller01", Duration.ofMinutes(30)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+        }
+        clock.advance(Duration.ofMinutes(2));
+
+        cache.put("token-new", claims("teller01", Duration.ofMinutes(30)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(cache.getStats().getExpirations()).isEqualTo(1);
+        assertThat(cache.getStats().getEvictions()).isZero();
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("more-" + i, claims("teller01", Duration.ofMinutes(30)), principal("teller01"), authorities("ROLE_TELLER"), 0);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("more-19")).isNotNull();
+    }
+
+    @Test
+    void principalLoadedBeforeAnInvalidationShouldNotBeCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        long generation = cache.generation("teller01");
+
+        cache.invalidateUser("teller01"); // role change lands while the filter is loading
+        cache.put("token-1", claims("teller01", Duration.ofMinutes(30)), principal("teller01"),
+                authorities("ROLE_TELLER"), generation);
+
+        assertThat(cache.get("token-1")).isNull();
+    }
+
+    @Test
+    void shouldNotCacheTokenWithoutExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        JwtClaims claims = new JwtClaims("teller01", List.of("ROLE_TELLER"), clock.instant(), null);
+
+        cache.put("token-1", claims, principal("teller01"), authorities("ROLE_TELLER"), 0);
+
+        assertThat(cache.get("token-1")).isNull();
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private JwtClaims claims(String username, Duration validFor) {
+        return new JwtClaims(username, List.of(), clock.instant(), clock.instant().plus(validFor));
+    }
+
+    private static CustomUserDetails principal(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return new CustomUserDetails(user, List.of());
+    }
+
+    private static List<GrantedAuthority> authorities(String... roles) {
+        return List.of(roles).stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
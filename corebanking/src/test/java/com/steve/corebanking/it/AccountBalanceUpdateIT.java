@@ -0,0 +1,104 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountService;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.exception.InsufficientFundsException;
+import com.steve.corebanking.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountBalanceUpdateIT {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.deleteAll();
+
+        Account account = new Account();
+        account.setAccountNumber("ACC123");
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(new BigDecimal("1000"));
+        accountRepository.save(account);
+    }
+
+    @Test
+    void debitAndCreditShouldUpdateBalanceAndVersion() {
+        accountService.debitAccount("ACC123", new BigDecimal("300"));
+        accountService.creditAccount("ACC123", new BigDecimal("50"));
+
+        Account updated = accountRepository.findByAccountNumber("ACC123").orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo("750");
+        assertThat(updated.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void debitShouldLeaveBalanceUntouchedWhenFundsAreInsufficient() {
+        assertThatThrownBy(() -> accountService.debitAccount("ACC123", new BigDecimal("1000.01")))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThatThrownBy(() -> accountService.debitAccount("NOPE", BigDecimal.ONE))
+                .isInstanceOf(NotFoundException.class);
+
+        Account unchanged = accountRepository.findByAccountNumber("ACC123").orElseThrow();
+        assertThat(unchanged.getBalance()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void concurrentDebitsShouldNeverOverdraw() throws Exception {
+        int threads = 8;
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 25; i++) {
+                        try {
+                            accountService.debitAccount("ACC123", BigDecimal.TEN);
+                            succeeded.incrementAndGet();
+                        } catch (InsufficientFundsException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Account drained = accountRepository.findByAccountNumber("ACC123").orElseThrow();
+        assertThat(succeeded).hasValue(100);
+        assertThat(rejected).hasValue(100);
+        assertThat(drained.getBalance()).isEqualByComparingTo("0");
+    }
+}
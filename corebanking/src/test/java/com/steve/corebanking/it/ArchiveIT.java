@@ -0,0 +1,274 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.archive.dto.ArchiveRunDto;
+import com.steve.corebanking.ledger.LedgerEntry;
+import com.steve.corebanking.ledger.LedgerService;
+import com.steve.corebanking.transaction.DailyTransactionRollupService;
+import com.steve.corebanking.transaction.IdempotencyCache;
+import com.steve.corebanking.transaction.Transaction;
+import com.steve.corebanking.transaction.TransactionService;
+import com.steve.corebanking.transaction.TransactionType;
+import com.steve.corebanking.transaction.dto.CursorPageDto;
+import com.steve.corebanking.transaction.dto.TransactionDto;
+import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "corebanking.archive.horizon-days=90")
+@ActiveProfiles("test")
+class ArchiveIT {
+
+    private static final LocalDateTime OLD = LocalDate.now().minusDays(200).atTime(9, 0);
+    private static final LocalDateTime RECENT = LocalDate.now().minusDays(10).atTime(9, 0);
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private DailyTransactionRollupService rollupService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        cleanUp();
+        for (int i = 0; i < 20; i++) {
+            insertTransaction("ACC001", i % 4 == 0 ? "ACC002" : null, i % 4 == 0 ? "TRANSFER" : "DEPOSIT",
+                    OLD.plusMinutes(i));
+            insertTransaction("ACC002", "ACC001", "TRANSFER", OLD.plusMinutes(i).plusSeconds(30));
+        }
+        for (int i = 0; i < 10; i++) {
+            insertTransaction("ACC001", null, "DEPOSIT", RECENT.plusMinutes(i));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            insertLedgerEntry("ACC001", OLD.plusMinutes(i));
+            insertLedgerEntry("ACC002", OLD.plusMinutes(i));
+        }
+        for (int i = 0; i < 3; i++) {
+            insertLedgerEntry("ACC001", RECENT.plusMinutes(i));
+        }
+        // Only ACC001's old entries are folded into a checkpoint
+        jdbcTemplate.update("""
+                INSERT INTO ledger_balance_checkpoint (account_number, as_of, balance)
+                VALUES ('ACC001', ?, 50)
+                """, RECENT.minusDays(20));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM archive_watermark");
+        jdbcTemplate.update("DELETE FROM transaction_archive");
+        jdbcTemplate.update("DELETE FROM ledger_entry_archive");
+        jdbcTemplate.update("DELETE FROM ledger_balance_checkpoint");
+        jdbcTemplate.update("DELETE FROM ledger_entry");
+        jdbcTemplate.update("DELETE FROM daily_transaction_rollup");
+        jdbcTemplate.update("DELETE FROM transaction");
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void archiveShouldMoveOldRowsAndKeepUncheckpointedLedgerEntriesHot() {
+        ArchiveRunDto run = archiveService.archive();
+
+        assertThat(run.getTransactions()).isEqualTo(40);
+        assertThat(run.getLedgerEntries()).isEqualTo(5);
+        assertThat(count("transaction")).isEqualTo(10);
+        assertThat(count("transaction_archive")).isEqualTo(40);
+        assertThat(count("ledger_entry")).isEqualTo(8);
+
+        // A second run finds nothing new
+        assertThat(archiveService.archive().getTransactions()).isZero();
+    }
+
+    @Test
+    void readPathsShouldReturnTheSameRowsAcrossBothTiers() {
+        List<Long> cursorBefore = walkCursor("ACC001");
+        List<Long> pageBefore = ids(transactionService.getTransactionsByAccount("ACC001", 1, 10).getContent());
+        List<Long> timestampPageBefore = ids(transactionService.getTransactionsForAccount("ACC001", 0, 25).getContent());
+        List<String> rangeBefore = references(transactionService.getTransactionsByAccountAndDateRange(
+                "ACC001", OLD.toLocalDate(), RECENT.toLocalDate()));
+        List<Long> ledgerBefore = ledgerIds(ledgerService.getLedgerForAccount("ACC001"));
+        List<Long> ledgerPageBefore = ledgerIds(ledgerService.getLedgerForAccount("ACC001", 0, 5).getContent());
+
+        archiveService.archive();
+
+        assertThat(walkCursor("ACC001")).hasSize(50).containsExactlyElementsOf(cursorBefore);
+        assertThat(ids(transactionService.getTransactionsByAccount("ACC001", 1, 10).getContent()))
+                .containsExactlyElementsOf(pageBefore);
+        assertThat(transactionService.getTransactionsByAccount("ACC001", 0, 10).getTotalElements()).isEqualTo(50);
+        assertThat(ids(transactionService.getTransactionsForAccount("ACC001", 0, 25).getContent()))
+                .containsExactlyElementsOf(timestampPageBefore);
+        assertThat(references(transactionService.getTransactionsByAccountAndDateRange(
+                "ACC001", OLD.toLocalDate(), RECENT.toLocalDate())))
+                .hasSize(30)
+                .containsExactlyElementsOf(rangeBefore);
+        assertThat(ledgerIds(ledgerService.getLedgerForAccount("ACC001")))
+                .hasSize(8)
+                .containsExactlyElementsOf(ledgerBefore);
+        assertThat(ledgerService.getLedgerForAccount("ACC001").get(7).getAccountNumber()).isEqualTo("ACC001");
+        assertThat(ledgerIds(ledgerService.getLedgerForAccount("ACC001", 0, 5).getContent()))
+                .containsExactlyElementsOf(ledgerPageBefore);
+        assertThat(ledgerService.getLedgerForAccount("ACC001", 1, 5).getTotalElements()).isEqualTo(8);
+    }
+
+    @Test
+    void rangeCursorShouldWalkFromTheArchiveIntoTheHotTable() {
+        archiveService.archive();
+
+        List<String> expected = references(transactionService.getTransactionsByAccountAndDateRange(
+                "ACC001", OLD.toLocalDate(), RECENT.toLocalDate()));
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<TransactionDto> slice = transactionService.getTransactionsByAccountAndDateRangeCursor(
+                    "ACC001", OLD.toLocalDate(), RECENT.toLocalDate(), cursor, 7);
+            walked.addAll(references(slice.getContent()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).hasSize(30).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void onlyRangesBeforeTheWatermarkShouldReachTheArchive() {
+        assertThat(archiveService.reachesArchive(ArchiveService.TRANSACTIONS, OLD)).isFalse();
+
+        archiveService.archive();
+
+        assertThat(archiveService.reachesArchive(ArchiveService.TRANSACTIONS, OLD)).isTrue();
+        assertThat(archiveService.reachesArchive(ArchiveService.TRANSACTIONS, null)).isTrue();
+        assertThat(archiveService.reachesArchive(ArchiveService.TRANSACTIONS, RECENT)).isFalse();
+    }
+
+    @Test
+    void rebuildingAnArchivedDayShouldKeepItsTotals() {
+        LocalDate day = OLD.toLocalDate();
+        rollupService.rebuild(day, day);
+        long before = rollupService.getDailySummary(day).getTransactionCount();
+
+        archiveService.archive();
+        rollupService.rebuild(day, day);
+
+        assertThat(before).isEqualTo(40);
+        assertThat(rollupService.getDailySummary(day).getTransactionCount()).isEqualTo(before);
+    }
+
+    @Test
+    void replayOfAnArchivedPostingShouldReturnTheOriginal() {
+        Account account = new Account();
+        account.setAccountNumber("ACC900");
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(BigDecimal.ZERO);
+        accountRepository.save(account);
+
+        TransactionDto deposit = new TransactionDto();
+        deposit.setIdempotencyKey("old-key-1");
+        deposit.setAccountNumber("ACC900");
+        deposit.setAmount(new BigDecimal("25"));
+        deposit.setType(TransactionType.DEPOSIT);
+        TransactionResponseDto original = transactionService.createTransaction(deposit);
+
+        jdbcTemplate.update("UPDATE transaction SET created_at = ?, timestamp = ? WHERE idempotency_key = ?",
+                OLD, OLD, "old-key-1");
+        archiveService.archive();
+        idempotencyCache.put("old-key-1", null); // simulate a restart: the key is gone from memory
+
+        TransactionResponseDto replay = transactionService.createTransaction(deposit);
+
+        assertThat(replay.getReferenceId()).isEqualTo(original.getReferenceId());
+        assertThat(accountRepository.findByAccountNumber("ACC900").orElseThrow().getBalance())
+                .isEqualByComparingTo("25");
+        assertThat(count("transaction") + count("transaction_archive")).isEqualTo(51);
+    }
+
+    @Test
+    void balanceAsOfADayShouldCountArchivedEntries() {
+        archiveService.archive();
+
+        // ACC001: five archived entries on OLD, checkpoint of 50 after them, three hot entries on RECENT
+        assertThat(ledgerService.calculateLedgerBalanceAsOf("ACC001", OLD.toLocalDate().minusDays(1)))
+                .isEqualByComparingTo("0");
+        assertThat(ledgerService.calculateLedgerBalanceAsOf("ACC001", OLD.toLocalDate()))
+                .isEqualByComparingTo("50");
+        assertThat(ledgerService.calculateLedgerBalanceAsOf("ACC001", RECENT.toLocalDate()))
+                .isEqualByComparingTo("80");
+        // ACC002 has no checkpoint, so its entries stayed hot
+        assertThat(ledgerService.calculateLedgerBalanceAsOf("ACC002", OLD.toLocalDate()))
+                .isEqualByComparingTo("50");
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private List<Long> walkCursor(String accountNumber) {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<Transaction> slice = transactionService.getTransactionsByAccountCursor(accountNumber, cursor, 7);
+            walked.addAll(ids(slice.getContent()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return walked;
+    }
+
+    private static List<Long> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).toList();
+    }
+
+    private static List<String> references(List<TransactionDto> transactions) {
+        return transactions.stream().map(TransactionDto::getReferenceId).toList();
+    }
+
+    private static List<Long> ledgerIds(List<LedgerEntry> entries) {
+        return entries.stream().map(LedgerEntry::getId).toList();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private void insertTransaction(String accountNumber, String targetAccount, String type, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction (reference_id, account_number, target_account, amount, type, timestamp, created_at)
+                VALUES (RANDOM_UUID(), ?, ?, ?, ?, ?, ?)
+                """, accountNumber, targetAccount, BigDecimal.TEN, type, createdAt, createdAt);
+    }
+
+    private void insertLedgerEntry(String accountNumber, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO ledger_entry (id, account_number, amount, entry_type, created_at)
+                VALUES (NEXT VALUE FOR ledger_entry_seq, ?, ?, 'CREDIT', ?)
+                """, accountNumber, BigDecimal.TEN, createdAt);
+    }
+}
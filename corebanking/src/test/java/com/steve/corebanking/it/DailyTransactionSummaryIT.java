@@ -0,0 +1,239 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.exception.InsufficientFundsException;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.transaction.DailyTransactionRollupDirtyDate;
+import com.steve.corebanking.transaction.DailyTransactionRollupDirtyDateRepository;
+import com.steve.corebanking.transaction.DailyTransactionRollupRepository;
+import com.steve.corebanking.transaction.DailyTransactionRollupService;
+import com.steve.corebanking.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class DailyTransactionSummaryIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private DailyTransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private DailyTransactionRollupDirtyDateRepository dirtyDateRepository;
+
+    @Autowired
+    private DailyTransactionRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        ledgerRepository.deleteAll();
+        transactionRepository.deleteAll();
+        rollupRepository.deleteAll();
+        dirtyDateRepository.deleteAll();
+        accountRepository.deleteAll();
+        createAccount("ACC001", "1000");
+        createAccount("ACC002", "0");
+    }
+
+    @Test
+    @WithMockUser(username = "auditor1", roles = {"AUDITOR"})
+    void committedPostingsShouldUpdateTheRollup() throws Exception {
+        postAs("teller1", """
+                { "accountNumber": "ACC001", "amount": 100, "type": "DEPOSIT", "narration": "Cash" }
+                """);
+        postAs("teller1", """
+                { "accountNumber": "ACC001", "amount": 40, "type": "WITHDRAWAL", "narration": "ATM" }
+                """);
+        postAs("teller2", """
+                { "accountNumber": "ACC001", "amount": 25, "type": "TRANSFER", "targetAccount": "ACC002", "narration": "Rent" }
+                """);
+        postAs("teller2", """
+                { "accountNumber": "ACC001", "amount": 75, "type": "TRANSFER", "targetAccount": "ACC002", "narration": "Rent" }
+                """);
+
+        // Rolled back for insufficient funds: must not reach the rollup
+        authenticateAs("teller2", "ROLE_TELLER");
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/transactions/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "accountNumber": "ACC002", "amount": 5000, "type": "WITHDRAWAL", "narration": "Too much" }
+                        """)))
+                .hasRootCauseInstanceOf(InsufficientFundsException.class);
+        authenticateAs("auditor1", "ROLE_AUDITOR");
+
+        mockMvc.perform(get("/api/transactions/summary/daily")
+                        .param("date", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(4))
+                .andExpect(jsonPath("$.totalsByType.DEPOSIT").value(100))
+                .andExpect(jsonPath("$.totalsByType.WITHDRAWAL").value(40))
+                .andExpect(jsonPath("$.totalsByType.TRANSFER").value(100))
+                .andExpect(jsonPath("$.totalsByTeller.teller1").value(140))
+                .andExpect(jsonPath("$.totalsByTeller.teller2").value(100));
+
+        assertThat(rollupRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = "admin1", roles = {"ADMIN"})
+    void rebuildShouldRecomputeDaysFromTheTransactionTable() throws Exception {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate dayBefore = yesterday.minusDays(1);
+        insertPostedAt("DEPOSIT", "999", "teller1", dayBefore.atTime(23, 59, 59));
+        insertPostedAt("DEPOSIT", "7", null, yesterday.atTime(0, 0));
+        insertPostedAt("WITHDRAWAL", "3", "teller1", yesterday.atTime(9, 30));
+
+        mockMvc.perform(post("/api/transactions/summary/rebuild")
+                        .param("from", dayBefore.toString())
+                        .param("to", yesterday.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        mockMvc.perform(get("/api/transactions/summary/range")
+                        .param("from", dayBefore.minusDays(1).toString())
+                        .param("to", yesterday.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].transactionCount").value(0))
+                .andExpect(jsonPath("$[1].totalsByType.DEPOSIT").value(999))
+                .andExpect(jsonPath("$[1].totalsByTeller.teller1").value(999))
+                .andExpect(jsonPath("$[2].transactionCount").value(2))
+                .andExpect(jsonPath("$[2].totalsByTeller.UNKNOWN").value(7))
+                .andExpect(jsonPath("$[2].totalsByTeller.teller1").value(3));
+
+        // Rebuilding again must not double count
+        mockMvc.perform(post("/api/transactions/summary/rebuild")
+                        .param("from", yesterday.toString())
+                        .param("to", yesterday.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions/summary/daily")
+                        .param("date", yesterday.toString()))
+                .andExpect(jsonPath("$.transactionCount").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "admin1", roles = {"ADMIN"})
+    void rebuildShouldRejectTheOpenDay() {
+        String today = LocalDate.now().toString();
+
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/transactions/summary/rebuild")
+                .param("from", today)
+                .param("to", today)))
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nightlyJobShouldRebuildDaysMarkedDirtyBeforeARestart() {
+        LocalDate missed = LocalDate.now().minusDays(3);
+        insertPostedAt("DEPOSIT", "42", "teller1", missed.atTime(12, 0));
+        dirtyDateRepository.save(new DailyTransactionRollupDirtyDate(missed)); // left by a previous process
+
+        rollupService.scheduledRebuild();
+
+        assertThat(rollupService.getDailySummary(missed).getTransactionCount()).isEqualTo(1);
+        assertThat(dirtyDateRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "auditor1", roles = {"AUDITOR"})
+    void summaryForQuietDayShouldReturnZeroTotals() throws Exception {
+        mockMvc.perform(get("/api/transactions/summary/daily")
+                        .param("date", "2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(0))
+                .andExpect(jsonPath("$.totalsByType.DEPOSIT").value(0))
+                .andExpect(jsonPath("$.totalsByTeller").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "teller1", roles = {"TELLER"})
+    void batchPostingsShouldRecordTheTeller() throws Exception {
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [ { "accountNumber": "ACC002", "amount": 10, "type": "DEPOSIT", "narration": "Cash" } ]
+                                """))
+                .andExpect(status().isOk());
+
+        authenticateAs("auditor1", "ROLE_AUDITOR");
+        mockMvc.perform(get("/api/transactions/summary/daily")
+                        .param("date", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(1))
+                .andExpect(jsonPath("$.totalsByTeller.teller1").value(10));
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    // Security filters are off, so the caller is whoever is in the test's security context
+    private void postAs(String teller, String payload) throws Exception {
+        authenticateAs(teller, "ROLE_TELLER");
+        mockMvc.perform(post("/api/transactions/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+        authenticateAs("auditor1", "ROLE_AUDITOR");
+    }
+
+    private static void authenticateAs(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, "n/a", AuthorityUtils.createAuthorityList(role)));
+    }
+
+    private void insertPostedAt(String type, String amount, String createdBy, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction (reference_id, account_number, amount, type, timestamp, created_at, created_by)
+                VALUES (RANDOM_UUID(), 'ACC001', ?, ?, ?, ?, ?)
+                """, new BigDecimal(amount), type, createdAt, createdAt, createdBy);
+    }
+
+    private void createAccount(String accountNumber, String balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(new BigDecimal(balance));
+        accountRepository.save(account);
+    }
+}
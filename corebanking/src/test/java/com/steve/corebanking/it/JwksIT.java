@@ -0,0 +1,132 @@
+package com.steve.corebanking.it;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steve.corebanking.auth.AuthRepository;
+import com.steve.corebanking.auth.JwtConfig;
+import com.steve.corebanking.auth.JwtUtil;
+import com.steve.corebanking.auth.Role;
+import com.steve.corebanking.auth.RoleRepository;
+import com.steve.corebanking.auth.User;
+import com.steve.corebanking.auth.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Security filters on: the JWKS must be reachable without a token, and tokens
+// signed with the published key must pass JwtFilter
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwksIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthRepository authRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @AfterEach
+    void cleanUp() {
+        authRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void jwksShouldBePublicAndVerifyIssuedTokens() throws Exception {
+        String body = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode key = objectMapper.readTree(body).get("keys").get(0);
+        assertThat(key.get("kid").asText()).isEqualTo(jwtConfig.getKeyId());
+        assertThat(key.get("alg").asText()).isEqualTo("RS256");
+
+        // What a resource server does with the JWKS: rebuild the key, check the signature
+        PublicKey published = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode(key.get("n").asText())),
+                new BigInteger(1, Base64.getUrlDecoder().decode(key.get("e").asText()))));
+        String token = jwtUtil.generateToken(admin("jwks-admin"));
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(published).build().parseClaimsJws(token).getBody();
+        assertThat(claims.getSubject()).isEqualTo("jwks-admin");
+    }
+
+    @Test
+    void protectedEndpointShouldAcceptOurTokenOnly() throws Exception {
+        String token = jwtUtil.generateToken(admin("jwks-admin"));
+        String foreign = new JwtUtil(new JwtConfig("", "", jwtConfig.getKeyId()))
+                .generateToken(authRepository.findByUsername("jwks-admin").orElseThrow());
+
+        mockMvc.perform(get("/api/auth/token-cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/auth/token-cache").header("Authorization", "Bearer " + foreign))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/auth/token-cache"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void roleChangeShouldApplyToATokenAlreadyInUse() throws Exception {
+        User user = admin("demoted-admin");
+        roleRepository.save(new Role(null, "ROLE_TELLER"));
+        String token = jwtUtil.generateToken(user);
+
+        mockMvc.perform(get("/api/auth/token-cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk()); // verified and cached with ROLE_ADMIN
+
+        userService.changeUserRole(user.getId(), "TELLER", -1L);
+
+        // Same token, still signed and unexpired, but the user is no longer an admin
+        mockMvc.perform(get("/api/auth/token-cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private User admin(String username) {
+        Role role = roleRepository.findByName("ROLE_ADMIN")
+                .orElseGet(() -> roleRepository.save(new Role(null, "ROLE_ADMIN")));
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("not-used");
+        user.setRoles(new HashSet<>(Set.of(role)));
+        return authRepository.save(user);
+    }
+}
@@ -0,0 +1,83 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.auth.JwtClaims;
+import com.steve.corebanking.auth.JwtConfig;
+import com.steve.corebanking.auth.JwtUtil;
+import com.steve.corebanking.auth.Role;
+import com.steve.corebanking.auth.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Per-request JWT cost in JwtFilter: the old path parsed and verified the
+ * token four times (username, username again, expiry, roles), building a new
+ * parser each time; JwtUtil.parse verifies once with a prebuilt parser. Both
+ * sides verify RS256 with the same key.
+ *
+ * Plain timed loops after a warm-up, like the other benchmarks here, rather
+ * than JMH, which this build does not carry.
+ *
+ * Run with: mvn test -Dtest=JwtAuthBenchmarkIT -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthBenchmarkIT {
+
+    private static final JwtConfig CONFIG = new JwtConfig("", "", "");
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void singleParseVersusPerClaimParsing() {
+        JwtUtil jwtUtil = new JwtUtil(CONFIG);
+
+        User user = new User();
+        user.setUsername("teller01");
+        user.setRoles(Set.of(new Role(null, "ROLE_TELLER")));
+        String token = jwtUtil.generateToken(user);
+
+        double before = nanosPerCall(token, JwtAuthBenchmarkIT::perClaimParsing);
+        double after = nanosPerCall(token, t -> {
+            JwtClaims claims = jwtUtil.parse(t);
+            if (!claims.isIssuedTo(user) || claims.getRoles().isEmpty()) {
+                throw new IllegalStateException();
+            }
+        });
+
+        System.out.printf("per-claim parsing (before): %8.1f us/request%n", before / 1_000);
+        System.out.printf("single parse (after):       %8.1f us/request%n", after / 1_000);
+        System.out.printf("speed-up:                   %8.1fx%n", before / after);
+    }
+
+    // What JwtFilter did per request before JwtClaims: four parses, each with a fresh parser
+    private static void perClaimParsing(String token) {
+        String username = claims(token).getSubject();
+        boolean valid = claims(token).getSubject().equals(username)
+                && !claims(token).getExpiration().before(new Date());
+        List<?> roles = claims(token).get("roles", List.class);
+        if (!valid || roles.isEmpty()) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static Claims claims(String token) {
+        return Jwts.parserBuilder().setSigningKey(CONFIG.getVerificationKey()).build().parseClaimsJws(token).getBody();
+    }
+
+    private static double nanosPerCall(String token, Consumer<String> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.accept(token);
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+}
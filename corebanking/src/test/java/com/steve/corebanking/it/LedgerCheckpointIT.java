@@ -0,0 +1,72 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.ledger.LedgerBalanceCheckpoint;
+import com.steve.corebanking.ledger.LedgerBalanceCheckpointRepository;
+import com.steve.corebanking.ledger.LedgerCheckpointService;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.ledger.LedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "corebanking.ledger-checkpoint.settle-lag-seconds=0")
+@ActiveProfiles("test")
+class LedgerCheckpointIT {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerCheckpointService ledgerCheckpointService;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private LedgerBalanceCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    void setup() {
+        checkpointRepository.deleteAll();
+        ledgerRepository.deleteAll();
+    }
+
+    @Test
+    void balanceFromCheckpointShouldMatchFullFold() throws Exception {
+        ledgerService.createDoubleEntry("BANK_CASH_ACCOUNT", "ACC001", new BigDecimal("500"), "TX1", "Deposit");
+        ledgerService.createDoubleEntry("ACC001", "ACC002", new BigDecimal("120"), "TX2", "Transfer");
+
+        assertThat(ledgerCheckpointService.rollForward()).isEqualTo(3);
+
+        LedgerBalanceCheckpoint checkpoint = checkpointRepository.findByAccountNumber("ACC001").orElseThrow();
+        assertThat(checkpoint.getBalance()).isEqualByComparingTo("380");
+        assertThat(checkpoint.getLastEntryId()).isNotNull();
+
+        Thread.sleep(5); // make sure the next entries are created after the checkpoint
+        ledgerService.createDoubleEntry("ACC001", "BANK_CASH_ACCOUNT", new BigDecimal("80"), "TX3", "ATM");
+
+        assertThat(ledgerService.calculateLedgerBalance("ACC001")).isEqualByComparingTo("300");
+        assertThat(ledgerService.calculateLedgerBalance("ACC002")).isEqualByComparingTo("120");
+
+        // Only ACC001 and the cash account moved since the last pass
+        assertThat(ledgerCheckpointService.rollForward()).isEqualTo(2);
+        assertThat(checkpointRepository.findByAccountNumber("ACC001").orElseThrow().getBalance())
+                .isEqualByComparingTo("300");
+        assertThat(ledgerService.calculateLedgerBalance("ACC001")).isEqualByComparingTo("300");
+
+        Map<String, BigDecimal> balances =
+                ledgerService.calculateLedgerBalances(List.of("ACC001", "ACC002", "BANK_CASH_ACCOUNT", "NONE"));
+        assertThat(balances.get("ACC001")).isEqualByComparingTo("300");
+        assertThat(balances.get("ACC002")).isEqualByComparingTo("120");
+        assertThat(balances.get("BANK_CASH_ACCOUNT")).isEqualByComparingTo("-420");
+        assertThat(balances.get("NONE")).isEqualByComparingTo("0");
+    }
+}
@@ -0,0 +1,103 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.ledger.LedgerBalanceCheckpointRepository;
+import com.steve.corebanking.ledger.LedgerCheckpointService;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.ledger.LedgerService;
+import com.steve.corebanking.ledger.dto.LedgerMismatchDto;
+import com.steve.corebanking.ledger.dto.LedgerReconciliationPageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "corebanking.ledger-checkpoint.settle-lag-seconds=0")
+@ActiveProfiles("test")
+class LedgerReconciliationIT {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerCheckpointService ledgerCheckpointService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private LedgerBalanceCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    void setup() {
+        checkpointRepository.deleteAll();
+        ledgerRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void shouldPageThroughMismatchesOnly() {
+        for (int i = 0; i < 10; i++) {
+            String accountNumber = "ACC00" + i;
+            createAccount(accountNumber, "100");
+            // Every odd account is short by 1 in the ledger
+            BigDecimal posted = i % 2 == 0 ? new BigDecimal("100") : new BigDecimal("99");
+            ledgerService.createDoubleEntry("BANK_CASH_ACCOUNT", accountNumber, posted, "TX" + i, "Opening");
+        }
+        ledgerCheckpointService.rollForward();
+        createAccount("ACC010", "5"); // no ledger entries, no checkpoint
+
+        List<LedgerMismatchDto> found = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            LedgerReconciliationPageDto page = ledgerService.findBalanceMismatches(after, 2);
+            assertThat(page.getTotalAccounts()).isEqualTo(11);
+            found.addAll(page.getMismatches());
+            after = page.getNextAfterAccountNumber();
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(found).extracting(LedgerMismatchDto::getAccountNumber)
+                .containsExactly("ACC001", "ACC003", "ACC005", "ACC007", "ACC009", "ACC010");
+        assertThat(found.get(0).getLedgerBalance()).isEqualByComparingTo("99");
+        assertThat(found.get(0).getVariance()).isEqualByComparingTo("1");
+        assertThat(found.get(5).getVariance()).isEqualByComparingTo("5");
+    }
+
+    @Test
+    void entriesAfterCheckpointShouldCountTowardsLedgerBalance() throws Exception {
+        createAccount("ACC001", "150");
+        ledgerService.createDoubleEntry("BANK_CASH_ACCOUNT", "ACC001", new BigDecimal("100"), "TX1", "Opening");
+        ledgerCheckpointService.rollForward();
+
+        Thread.sleep(5);
+        ledgerService.createDoubleEntry("BANK_CASH_ACCOUNT", "ACC001", new BigDecimal("50"), "TX2", "Top up");
+
+        assertThat(ledgerService.findBalanceMismatches(null, 10).getMismatches()).isEmpty();
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private void createAccount(String accountNumber, String balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(new BigDecimal(balance));
+        accountRepository.save(account);
+    }
+}
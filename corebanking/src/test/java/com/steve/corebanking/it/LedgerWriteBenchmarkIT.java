@@ -0,0 +1,90 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.ledger.LedgerPosting;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.ledger.LedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ledger insert throughput on the H2 test database.
+ *
+ * Run with: mvn test -Dtest=LedgerWriteBenchmarkIT -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LedgerWriteBenchmarkIT {
+
+    private static final int WARMUP = 5_000;
+    private static final int POSTINGS = 20_000;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        ledgerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void doubleEntryPerPosting() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> postOneByOne(WARMUP));
+
+        long start = System.nanoTime();
+        tx.executeWithoutResult(status -> postOneByOne(POSTINGS));
+        report("createDoubleEntry x " + POSTINGS + ", one transaction", start);
+    }
+
+    @Test
+    void doubleEntriesInOneCall() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> ledgerService.createDoubleEntries(postings(WARMUP)));
+
+        List<LedgerPosting> postings = postings(POSTINGS);
+        long start = System.nanoTime();
+        tx.executeWithoutResult(status -> ledgerService.createDoubleEntries(postings));
+        report("createDoubleEntries(" + POSTINGS + "), one transaction", start);
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static List<LedgerPosting> postings(int count) {
+        List<LedgerPosting> postings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            postings.add(new LedgerPosting("ACC" + (i % 100), "BANK_CASH_ACCOUNT",
+                    BigDecimal.TEN, "TX" + i, "Benchmark"));
+        }
+        return postings;
+    }
+
+    private void postOneByOne(int postings) {
+        for (int i = 0; i < postings; i++) {
+            ledgerService.createDoubleEntry("ACC" + (i % 100), "BANK_CASH_ACCOUNT",
+                    BigDecimal.TEN, "TX" + i, "Benchmark");
+        }
+    }
+
+    private static void report(String label, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("==== %s: %.2fs, %,.0f ledger inserts/s%n", label, seconds, POSTINGS * 2 / seconds);
+    }
+}
@@ -0,0 +1,206 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.transaction.TransactionRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Seeds the H2 test database and checks that every hot repository query is
+ * served by an index. The SQL is what Hibernate actually sends (captured by a
+ * statement inspector), so a changed query or a dropped index shows up here.
+ * Plans are printed and written to target/query-plans.txt.
+ *
+ * Run with: mvn test -Dtest=QueryPlanIT -Dbenchmark=true -DargLine=-Xmx3g
+ * (row count per table: -Dqueryplan.rows, default 1,000,000)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.steve.corebanking.it.QueryPlanIT$SqlCapture")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIT {
+
+    private static final int ROWS = Integer.getInteger("queryplan.rows", 1_000_000);
+    private static final int ACCOUNTS = 10_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String ACC = "ACC00042";
+    private static final LocalDateTime FROM = BASE.plusDays(300);
+    private static final LocalDateTime TO = BASE.plusDays(301);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final StringBuilder report = new StringBuilder();
+
+    // Records every statement Hibernate prepares
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        ledgerRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        List<Object[]> transactions = new ArrayList<>(SEED_BATCH);
+        List<Object[]> entries = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            Timestamp at = Timestamp.valueOf(BASE.plusSeconds(i * 30L));
+            String account = account(i % ACCOUNTS);
+            String target = i % 3 == 0 ? account((i + 1) % ACCOUNTS) : null;
+            transactions.add(new Object[]{"REF" + i, account, target, BigDecimal.TEN,
+                    target == null ? "DEPOSIT" : "TRANSFER", at, at, "teller" + (i % 50)});
+            entries.add(new Object[]{account, "REF" + i, BigDecimal.TEN, i % 2 == 0 ? "CREDIT" : "DEBIT", at});
+
+            if (transactions.size() == SEED_BATCH) {
+                flush(transactions, entries);
+            }
+        }
+        flush(transactions, entries);
+        jdbcTemplate.execute("ANALYZE");
+
+        System.out.printf("==== QUERY PLANS: seeded %,d transactions and %,d ledger entries in %.1fs%n",
+                ROWS, ROWS, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    @Test
+    void hotQueriesShouldUseAnIndex() throws IOException {
+        SoftAssertions softly = new SoftAssertions();
+
+        // Transaction
+        check(softly, "history by createdAt (page 3)",
+                () -> transactionRepository.findInvolvingOrderByCreatedAtDesc(ACC, PageRequest.of(3, 20)),
+                ACC, ACC, ACC, 60, 20);
+        check(softly, "history by timestamp (page 3)",
+                () -> transactionRepository.findInvolvingOrderByTimestampDesc(ACC, PageRequest.of(3, 20)),
+                ACC, ACC, ACC, 60, 20);
+        check(softly, "account + timestamp range",
+                () -> transactionRepository.findByAccountNumberAndCreatedAtInRange(ACC, FROM, TO),
+                ACC, FROM, TO);
+        check(softly, "idempotency key",
+                () -> transactionRepository.findByIdempotencyKey("key-1"),
+                "key-1");
+        check(softly, "cursor: source, first slice",
+                () -> transactionRepository.findLatestBySource(ACC, Limit.of(21)),
+                ACC, 21);
+        check(softly, "cursor: source, seek",
+                () -> transactionRepository.findBySourceBefore(ACC, FROM, 1L, Limit.of(21)),
+                ACC, FROM, FROM, 1L, 21);
+        check(softly, "cursor: target, first slice",
+                () -> transactionRepository.findLatestByTarget(ACC, Limit.of(21)),
+                ACC, 21);
+        check(softly, "cursor: target, seek",
+                () -> transactionRepository.findByTargetBefore(ACC, FROM, 1L, Limit.of(21)),
+                ACC, FROM, FROM, 1L, 21);
+        check(softly, "daily rollup rebuild",
+                () -> transactionRepository.sumByTypeAndCreatedByBetween(FROM, TO),
+                FROM, TO);
+
+        // LedgerEntry
+        check(softly, "ledger by account, newest first",
+                () -> ledgerRepository.findByAccountNumberOrderByCreatedAtDesc(ACC),
+                ACC);
+        check(softly, "ledger by account (page 3)",
+                () -> ledgerRepository.findByAccountNumber(ACC, PageRequest.of(3, 20, Sort.by("createdAt").descending())),
+                ACC, 60, 20);
+        check(softly, "ledger by account id",
+                () -> ledgerRepository.findByAccountId(42L, PageRequest.of(0, 20)),
+                42L, 20);
+        check(softly, "accounts with entries since",
+                () -> ledgerRepository.findAccountNumbersWithEntriesSince(TO),
+                TO);
+        check(softly, "signed balance",
+                () -> ledgerRepository.sumBalanceByAccountNumber(ACC),
+                ACC);
+        check(softly, "signed balance since",
+                () -> ledgerRepository.sumBalanceByAccountNumberSince(ACC, FROM),
+                ACC, FROM);
+        check(softly, "checkpoint delta",
+                () -> ledgerRepository.sumDeltaByAccountNumber(ACC, FROM, TO),
+                ACC, FROM, TO);
+
+        System.out.print(report);
+        Path out = Path.of("target", "query-plans.txt");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, report);
+
+        softly.assertAll();
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    // Runs the repository call, then EXPLAINs each statement it issued. A count
+    // query binds a prefix of the main query's parameters, so one list serves both.
+    private void check(SoftAssertions softly, String label, Runnable query, Object... params) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+        softly.assertThat(statements).as(label).isNotEmpty();
+
+        for (String sql : statements) {
+            int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+            Object[] bound = Arrays.copyOf(params, placeholders);
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, bound);
+
+            report.append("---- ").append(label).append('\n').append(plan).append("\n\n");
+            softly.assertThat(plan).as(label + ": " + sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private void flush(List<Object[]> transactions, List<Object[]> entries) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction
+                    (reference_id, account_number, target_account, amount, type, timestamp, created_at, created_by)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, transactions);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO ledger_entry (id, account_number, transaction_id, amount, entry_type, created_at)
+                VALUES (NEXT VALUE FOR ledger_entry_seq, ?, ?, ?, ?, ?)
+                """, entries);
+        transactions.clear();
+        entries.clear();
+    }
+
+    private static String account(int i) {
+        return String.format("ACC%05d", i);
+    }
+}
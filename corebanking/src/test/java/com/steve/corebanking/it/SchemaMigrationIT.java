@@ -0,0 +1,72 @@
+package com.steve.corebanking.it;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against H2 in PostgreSQL mode and lets Hibernate
+ * validate the entities against the result, so an entity change without a
+ * matching migration fails here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "corebanking.flyway.concurrent-indexes=false"
+})
+@ActiveProfiles("test")
+class SchemaMigrationIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsShouldProduceTheSchemaTheEntitiesExpect() {
+        // Context startup already ran every migration and ddl-auto=validate
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7", "8");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_transaction_account_created'",
+                Integer.class))
+                .isPositive();
+    }
+
+    @Test
+    void databaseBuiltByAutoDdlShouldBeBaselinedAndUpgraded() {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH", "sa", "");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+
+        // The pre-migration schema, with ledger rows on IDENTITY ids and no history table
+        Flyway.configure().dataSource(legacy).target("1").load().migrate();
+        legacyJdbc.execute("DROP TABLE flyway_schema_history");
+        legacyJdbc.update("""
+                INSERT INTO ledger_entry (id, account_number, amount, entry_type, created_at)
+                VALUES (1000, 'ACC001', 10, 'CREDIT', CURRENT_TIMESTAMP)
+                """);
+
+        Flyway.configure()
+                .dataSource(legacy)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .placeholders(Map.of("concurrently", ""))
+                .load()
+                .migrate();
+
+        assertThat(legacyJdbc.queryForObject("SELECT COUNT(*) FROM account WHERE version IS NULL", Integer.class))
+                .isZero();
+        // Pooled ids must start above every existing row
+        assertThat(legacyJdbc.queryForObject("SELECT NEXTVAL('ledger_entry_seq')", Long.class))
+                .isGreaterThan(1000L + 50);
+    }
+}
@@ -0,0 +1,113 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.transaction.TransactionBatchService;
+import com.steve.corebanking.transaction.TransactionRepository;
+import com.steve.corebanking.transaction.TransactionService;
+import com.steve.corebanking.transaction.TransactionType;
+import com.steve.corebanking.transaction.dto.BatchTransactionResponseDto;
+import com.steve.corebanking.transaction.dto.TransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-item posting vs. the batch endpoint's service, on the H2 test database.
+ *
+ * Run with: mvn test -Dtest=TransactionBatchBenchmarkIT -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionBatchBenchmarkIT {
+
+    private static final int ACCOUNTS = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @BeforeEach
+    void setup() {
+        ledgerRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setAccountNumber(accountNumber(i));
+            account.setAccountType(AccountType.SAVINGS);
+            account.setBalance(new BigDecimal("1000000"));
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void singleVersusBatch(int items) {
+        List<TransactionDto> workload = workload(items);
+
+        long start = System.nanoTime();
+        workload.forEach(transactionService::createTransaction);
+        double singleSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        start = System.nanoTime();
+        BatchTransactionResponseDto response = transactionBatchService.postBatch(workload);
+        double batchSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("==== %,d items: single %.2fs (%,.0f tx/s), batch %.2fs (%,.0f tx/s), speedup %.1fx%n",
+                items, singleSeconds, items / singleSeconds, batchSeconds, items / batchSeconds,
+                singleSeconds / batchSeconds);
+
+        assertThat(response.getFailed()).isZero();
+        assertThat(transactionRepository.count()).isEqualTo(2L * items);
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static List<TransactionDto> workload(int items) {
+        TransactionType[] types = TransactionType.values();
+        List<TransactionDto> workload = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            TransactionDto dto = new TransactionDto();
+            dto.setType(types[i % types.length]);
+            dto.setAccountNumber(accountNumber(i % ACCOUNTS));
+            dto.setTargetAccount(dto.getType() == TransactionType.TRANSFER ? accountNumber((i + 1) % ACCOUNTS) : null);
+            dto.setAmount(BigDecimal.ONE);
+            dto.setNarration("Benchmark " + i);
+            workload.add(dto);
+        }
+        return workload;
+    }
+
+    private static String accountNumber(int i) {
+        return "BENCH" + i;
+    }
+}
@@ -0,0 +1,163 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.account.Account;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountType;
+import com.steve.corebanking.ledger.LedgerRepository;
+import com.steve.corebanking.transaction.IdempotencyCache;
+import com.steve.corebanking.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TransactionBatchIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void setup() {
+        ledgerRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        createAccount("ACC001", "100");
+        createAccount("ACC002", "0");
+    }
+
+    @Test
+    @WithMockUser(username = "teller1", roles = {"TELLER"})
+    void batchShouldPostValidItemsAndReportFailuresPerItem() throws Exception {
+
+        String payload = """
+    [
+      { "accountNumber": "ACC001", "amount": 50,  "type": "DEPOSIT",    "narration": "Cash" },
+      { "accountNumber": "ACC001", "amount": 120, "type": "TRANSFER",   "targetAccount": "ACC002", "narration": "Rent" },
+      { "accountNumber": "ACC002", "amount": 500, "type": "WITHDRAWAL", "narration": "Too much" },
+      { "accountNumber": "NOPE",   "amount": 10,  "type": "DEPOSIT",    "narration": "Unknown" },
+      { "accountNumber": "ACC001", "amount": 0,   "type": "DEPOSIT",    "narration": "Zero" },
+      { "accountNumber": "ACC002", "amount": 20,  "type": "WITHDRAWAL", "narration": "ATM" }
+    ]
+    """;
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(6))
+                .andExpect(jsonPath("$.posted").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[1].success").value(true))
+                .andExpect(jsonPath("$.results[2].error").value("Insufficient funds for account: ACC002"))
+                .andExpect(jsonPath("$.results[3].error").value("Account not found with number: NOPE"))
+                .andExpect(jsonPath("$.results[4].error").value("Amount must be > 0"))
+                .andExpect(jsonPath("$.results[5].success").value(true));
+
+        assertThat(balanceOf("ACC001")).isEqualByComparingTo("30");
+        assertThat(balanceOf("ACC002")).isEqualByComparingTo("100");
+        assertThat(transactionRepository.count()).isEqualTo(3);
+        assertThat(ledgerRepository.count()).isEqualTo(6);
+        assertThat(ledgerRepository.findByAccountNumberOrderByCreatedAtDesc("ACC002")).hasSize(2);
+    }
+
+    @Test
+    @WithMockUser(username = "teller1", roles = {"TELLER"})
+    void batchShouldPostEachIdempotencyKeyOnce() throws Exception {
+
+        String payload = """
+    [
+      { "idempotencyKey": "eod-1", "accountNumber": "ACC001", "amount": 10, "type": "DEPOSIT", "narration": "A" },
+      { "idempotencyKey": "eod-1", "accountNumber": "ACC001", "amount": 10, "type": "DEPOSIT", "narration": "A" },
+      { "idempotencyKey": "eod-2", "accountNumber": "ACC002", "amount": 5,  "type": "DEPOSIT", "narration": "B" }
+    ]
+    """;
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posted").value(3))
+                .andExpect(jsonPath("$.results[0].duplicate").value(false))
+                .andExpect(jsonPath("$.results[1].duplicate").value(true));
+
+        // Re-submitting the whole batch must not post anything again
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].duplicate").value(true))
+                .andExpect(jsonPath("$.results[2].duplicate").value(true));
+
+        assertThat(balanceOf("ACC001")).isEqualByComparingTo("110");
+        assertThat(balanceOf("ACC002")).isEqualByComparingTo("5");
+        assertThat(transactionRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "teller1", roles = {"TELLER"})
+    void singlePostingShouldRecogniseKeyPostedBeforeCacheWasFilled() throws Exception {
+
+        String payload = """
+    { "idempotencyKey": "retry-1", "accountNumber": "ACC001", "amount": 25, "type": "WITHDRAWAL", "narration": "ATM" }
+    """;
+
+        mockMvc.perform(post("/api/transactions/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+        String referenceId = transactionRepository.findByIdempotencyKey("retry-1").orElseThrow().getReferenceId();
+
+        idempotencyCache.put("retry-1", null); // simulate a restart: the key is gone from memory
+        mockMvc.perform(post("/api/transactions/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.referenceId").value(referenceId));
+
+        assertThat(balanceOf("ACC001")).isEqualByComparingTo("75");
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private void createAccount(String accountNumber, String balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(new BigDecimal(balance));
+        accountRepository.save(account);
+    }
+
+    private BigDecimal balanceOf(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,146 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.transaction.Transaction;
+import com.steve.corebanking.transaction.TransactionRepository;
+import com.steve.corebanking.transaction.TransactionService;
+import com.steve.corebanking.transaction.dto.CursorPageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TransactionCursorIT {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        transactionRepository.deleteAll();
+        for (int i = 0; i < 30; i++) {
+            // Every third row shares its timestamp with the previous one to exercise the id tie-break
+            LocalDateTime at = BASE.plusMinutes(i - i / 3);
+            if (i % 2 == 0) {
+                insert("ACC001", null, "DEPOSIT", at);
+            } else {
+                insert("ACC002", "ACC001", "TRANSFER", at);
+            }
+            insert("ACC003", null, "DEPOSIT", at); // unrelated account
+        }
+    }
+
+    @Test
+    void walkingTheCursorShouldReturnEveryRowOnceNewestFirst() {
+        List<Long> expected = transactionRepository.findAllInvolving("ACC001").stream()
+                .sorted(Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getId).reversed())
+                .map(Transaction::getId)
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            CursorPageDto<Transaction> slice = transactionService.getTransactionsByAccountCursor("ACC001", cursor, 7);
+            slice.getContent().forEach(tx -> walked.add(tx.getId()));
+            cursor = slice.getNextCursor();
+            assertThat(slice.isHasNext()).isEqualTo(cursor != null);
+            slices++;
+        } while (cursor != null);
+
+        assertThat(expected).hasSize(30);
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(slices).isEqualTo(5);
+    }
+
+    @Test
+    void lastSliceShouldHaveNoCursorWhenItEndsExactlyOnTheBoundary() {
+        CursorPageDto<Transaction> first = transactionService.getTransactionsByAccountCursor("ACC001", null, 15);
+        CursorPageDto<Transaction> second = transactionService.getTransactionsByAccountCursor(
+                "ACC001", first.getNextCursor(), 15);
+
+        assertThat(second.getContent()).hasSize(15);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void offsetPagesShouldMatchTheCursorOrderAndCountBothSides() {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<Transaction> slice = transactionService.getTransactionsByAccountCursor("ACC001", cursor, 10);
+            slice.getContent().forEach(tx -> walked.add(tx.getId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        Page<Transaction> first = transactionService.getTransactionsByAccount("ACC001", 0, 10);
+        Page<Transaction> last = transactionService.getTransactionsByAccount("ACC001", 2, 10);
+
+        assertThat(first.getTotalElements()).isEqualTo(30);
+        assertThat(first.getContent()).extracting(Transaction::getId).containsExactlyElementsOf(walked.subList(0, 10));
+        assertThat(last.getContent()).extracting(Transaction::getId).containsExactlyElementsOf(walked.subList(20, 30));
+        assertThat(transactionService.getTransactionsForAccount("ACC001", 0, 30).getContent()).hasSize(30);
+    }
+
+    @Test
+    void tamperedCursorShouldBeRejected() {
+        assertThatThrownBy(() -> transactionService.getTransactionsByAccountCursor("ACC001", "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> transactionService.getTransactionsByAccountCursor("ACC001", null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @WithMockUser(roles = {"AUDITOR"})
+    void historyCursorEndpointShouldReturnResponseDtos() throws Exception {
+        mockMvc.perform(get("/api/transactions/history/ACC001/cursor").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.content[0].timestamp").value(BASE.plusMinutes(20).toString()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isString());
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private void insert(String accountNumber, String targetAccount, String type, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction (reference_id, account_number, target_account, amount, type, timestamp, created_at)
+                VALUES (RANDOM_UUID(), ?, ?, ?, ?, ?, ?)
+                """, accountNumber, targetAccount, BigDecimal.TEN, type, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,144 @@
+package com.steve.corebanking.it;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.transaction.TransactionExportFormat;
+import com.steve.corebanking.transaction.TransactionExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "corebanking.export.fetch-size=7")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TransactionExportIT {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        cleanUp();
+        // Ten rows a day on March 1st to 3rd; the first day has already been archived
+        for (int day = 0; day < 3; day++) {
+            for (int i = 0; i < 10; i++) {
+                insert(day == 0 ? "transaction_archive" : "transaction", day * 100L + i + 1,
+                        "ACC00" + (i % 3), BASE.plusDays(day).plusMinutes(i));
+            }
+        }
+        jdbcTemplate.update("INSERT INTO archive_watermark (table_name, archived_before) VALUES (?, ?)",
+                ArchiveService.TRANSACTIONS, BASE.plusDays(1).toLocalDate().atStartOfDay());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM archive_watermark");
+        jdbcTemplate.update("DELETE FROM transaction_archive");
+        jdbcTemplate.update("DELETE FROM transaction");
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void allShouldStreamBothTiersAsOneJsonArray() throws Exception {
+        mockMvc.perform(get("/api/transactions/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].createdAt").value("2025-03-01T09:00:00"))
+                .andExpect(jsonPath("$[29].id").value(210));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TELLER"})
+    void ndjsonExportShouldWriteOneObjectPerLineForTheRange() throws Exception {
+        String body = mockMvc.perform(get("/api/transactions/export")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(20);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode last = objectMapper.readTree(lines.get(19));
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(last.get("id").asLong()).isEqualTo(110);
+        assertThat(last.get("type").asText()).isEqualTo("DEPOSIT");
+    }
+
+    @Test
+    @WithMockUser(roles = {"TELLER"})
+    void csvExportShouldSkipTheArchiveWhenTheRangeStartsAfterItsWatermark() throws Exception {
+        String body = mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "csv")
+                        .param("from", "2025-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(11);
+        assertThat(lines.get(0)).startsWith("id,referenceId,");
+        assertThat(lines.get(1)).startsWith("201,ref-201,,ACC000,,10.00,DEPOSIT,\"Rent, March \"\"early\"\"\",");
+    }
+
+    @Test
+    void exportShouldRejectAnInvertedRangeAndUnknownFormats() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> exportService.export(
+                LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1), TransactionExportFormat.CSV, out))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEmpty();
+        assertThatThrownBy(() -> TransactionExportFormat.from("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported export format: xml");
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private void insert(String table, long id, String accountNumber, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO %s (id, reference_id, account_number, amount, type, narration, timestamp, created_at)
+                VALUES (?, ?, ?, ?, 'DEPOSIT', 'Rent, March "early"', ?, ?)
+                """.formatted(table),
+                id, "ref-" + id, accountNumber, new BigDecimal("10.00"), createdAt, createdAt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.steve.corebanking.it;
+
+import com.steve.corebanking.transaction.TransactionRepository;
+import com.steve.corebanking.transaction.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Deep-page latency of OFFSET paging versus the keyset cursor on one busy account.
+ *
+ * Run with: mvn test -Dtest=TransactionHistoryBenchmarkIT -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionHistoryBenchmarkIT {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] DEPTHS = {0, 100, 1_000, 5_000, 9_999};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        transactionRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Timestamp at = Timestamp.valueOf(base.plusSeconds(i));
+            rows.add(new Object[]{"ACC001", BigDecimal.TEN, "DEPOSIT", at, at});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction (reference_id, account_number, amount, type, timestamp, created_at)
+                VALUES (RANDOM_UUID(), ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    @Test
+    void offsetVersusCursorAtDepth() {
+        // Cursor tokens for each depth, collected by walking once
+        String[] cursors = new String[DEPTHS[DEPTHS.length - 1] + 1];
+        String cursor = null;
+        for (int page = 0; page < cursors.length; page++) {
+            cursors[page] = cursor;
+            cursor = transactionService.getTransactionsByAccountCursor("ACC001", cursor, PAGE_SIZE).getNextCursor();
+        }
+
+        System.out.println("==== TRANSACTION HISTORY: " + ROWS + " rows, page size " + PAGE_SIZE + " ====");
+        System.out.println("   page   offset ms   cursor ms");
+        for (int page : DEPTHS) {
+            String token = cursors[page];
+            double offsetMs = time(() -> transactionService.getTransactionsByAccount("ACC001", page, PAGE_SIZE));
+            double cursorMs = time(() -> transactionService.getTransactionsByAccountCursor("ACC001", token, PAGE_SIZE));
+            System.out.printf("%7d  %10.2f  %10.2f%n", page, offsetMs, cursorMs);
+        }
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static double time(Supplier<?> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        int runs = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / runs;
+    }
+}
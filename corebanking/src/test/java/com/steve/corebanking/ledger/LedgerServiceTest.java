@@ -2,6 +2,8 @@ package com.steve.corebanking.ledger;
 
 import com.steve.corebanking.account.Account;
 import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.ledger.dto.LedgerReconciliationPageDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -10,11 +12,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +32,15 @@ class LedgerServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private LedgerBalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private LedgerEntryArchiveRepository ledgerEntryArchiveRepository;
+
+    @Mock
+    private ArchiveService archiveService;
+
     @InjectMocks
     private LedgerService ledgerService;
 
@@ -61,12 +76,15 @@ class LedgerServiceTest {
                 "Transfer"
         );
 
-        ArgumentCaptor<LedgerEntry> captor =
-                ArgumentCaptor.forClass(LedgerEntry.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerEntry>> captor =
+                ArgumentCaptor.forClass(List.class);
 
-        verify(ledgerRepository, times(2)).save(captor.capture());
+        verify(ledgerRepository).saveAll(captor.capture());
+        verify(ledgerRepository, never()).save(any(LedgerEntry.class));
 
-        List<LedgerEntry> entries = captor.getAllValues();
+        List<LedgerEntry> entries = captor.getValue();
+        assertEquals(2, entries.size());
 
         LedgerEntry debit = entries.get(0);
         LedgerEntry credit = entries.get(1);
@@ -78,24 +96,79 @@ class LedgerServiceTest {
         assertEquals(BigDecimal.valueOf(500), credit.getAmount());
     }
 
+    @Test
+    void shouldSaveAllLegsOfManyPostingsInOneCall() {
+        ledgerService.createDoubleEntries(List.of(
+                new LedgerPosting("ACC1", "ACC2", BigDecimal.ONE, "TXN1", "First"),
+                new LedgerPosting("BANK_CASH_ACCOUNT", "ACC1", BigDecimal.TEN, "TXN2", "Second")
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerEntry>> captor =
+                ArgumentCaptor.forClass(List.class);
+
+        verify(ledgerRepository, times(1)).saveAll(captor.capture());
+
+        List<LedgerEntry> entries = captor.getValue();
+        assertEquals(4, entries.size());
+        assertEquals("ACC1", entries.get(0).getAccountNumber());
+        assertEquals("ACC2", entries.get(1).getAccountNumber());
+        assertEquals("TXN2", entries.get(2).getTransactionId());
+        assertEquals("CREDIT: Second", entries.get(3).getNarration());
+    }
+
     /* ============================
        CALCULATE LEDGER BALANCE
     ============================ */
     @Test
-    void shouldCalculateLedgerBalanceCorrectly() {
-        List<LedgerEntry> entries = List.of(
-                createEntry(LedgerEntry.EntryType.CREDIT, 1000.0),
-                createEntry(LedgerEntry.EntryType.DEBIT, 400.0),
-                createEntry(LedgerEntry.EntryType.CREDIT, 200.0)
-        );
+    void shouldCalculateLedgerBalanceInDatabase() {
+        when(ledgerRepository.sumBalanceByAccountNumber("ACC123"))
+                .thenReturn(BigDecimal.valueOf(800));
+
+        BigDecimal balance =
+                ledgerService.calculateLedgerBalance("ACC123");
+
+        assertEquals(BigDecimal.valueOf(800), balance);
+        verify(ledgerRepository, never()).findByAccountNumberOrderByCreatedAtDesc(anyString());
+    }
 
-        when(ledgerRepository.findByAccountNumberOrderByCreatedAtDesc("ACC123"))
-                .thenReturn(entries);
+    @Test
+    void shouldStartFromCheckpointAndSumOnlyNewerEntries() {
+        LocalDateTime asOf = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LedgerBalanceCheckpoint checkpoint = new LedgerBalanceCheckpoint();
+        checkpoint.setAccountNumber("ACC123");
+        checkpoint.setAsOf(asOf);
+        checkpoint.setBalance(BigDecimal.valueOf(5000));
+
+        when(checkpointRepository.findByAccountNumber("ACC123"))
+                .thenReturn(Optional.of(checkpoint));
+        when(ledgerRepository.sumBalanceByAccountNumberSince("ACC123", asOf))
+                .thenReturn(BigDecimal.valueOf(-750));
 
         BigDecimal balance =
                 ledgerService.calculateLedgerBalance("ACC123");
 
-        assertEquals(BigDecimal.valueOf(800.0), balance);
+        assertEquals(0, balance.compareTo(BigDecimal.valueOf(4250)));
+        verify(ledgerRepository, never()).sumBalanceByAccountNumber(anyString());
+    }
+
+    @Test
+    void shouldCombineCheckpointsAndGroupedSumsForManyAccounts() {
+        LedgerBalanceCheckpoint checkpoint = new LedgerBalanceCheckpoint();
+        checkpoint.setAccountNumber("ACC1");
+        checkpoint.setBalance(BigDecimal.valueOf(100));
+
+        when(checkpointRepository.findByAccountNumberIn(List.of("ACC1", "ACC2", "ACC3")))
+                .thenReturn(List.of(checkpoint));
+        when(ledgerRepository.sumBalancesAfterCheckpoints(List.of("ACC1", "ACC2", "ACC3")))
+                .thenReturn(List.of(balanceView("ACC1", 20), balanceView("ACC2", 300)));
+
+        Map<String, BigDecimal> balances =
+                ledgerService.calculateLedgerBalances(List.of("ACC1", "ACC2", "ACC3"));
+
+        assertEquals(BigDecimal.valueOf(120), balances.get("ACC1"));
+        assertEquals(BigDecimal.valueOf(300), balances.get("ACC2"));
+        assertEquals(BigDecimal.ZERO, balances.get("ACC3"));
     }
 
     /* ============================
@@ -109,11 +182,8 @@ class LedgerServiceTest {
         when(accountRepository.findByAccountNumber("ACC123"))
                 .thenReturn(Optional.of(account));
 
-        when(ledgerRepository.findByAccountNumberOrderByCreatedAtDesc("ACC123"))
-                .thenReturn(List.of(
-                        createEntry(LedgerEntry.EntryType.CREDIT, 700),
-                        createEntry(LedgerEntry.EntryType.DEBIT, 200)
-                ));
+        when(ledgerRepository.sumBalanceByAccountNumber("ACC123"))
+                .thenReturn(BigDecimal.valueOf(500.00));
 
         boolean reconciled =
                 ledgerService.reconcileAccountBalance("ACC123");
@@ -129,10 +199,8 @@ class LedgerServiceTest {
         when(accountRepository.findByAccountNumber("ACC123"))
                 .thenReturn(Optional.of(account));
 
-        when(ledgerRepository.findByAccountNumberOrderByCreatedAtDesc("ACC123"))
-                .thenReturn(List.of(
-                        createEntry(LedgerEntry.EntryType.CREDIT, 500)
-                ));
+        when(ledgerRepository.sumBalanceByAccountNumber("ACC123"))
+                .thenReturn(BigDecimal.valueOf(500));
 
         boolean reconciled =
                 ledgerService.reconcileAccountBalance("ACC123");
@@ -140,16 +208,66 @@ class LedgerServiceTest {
         assertFalse(reconciled);
     }
 
+    /* ============================
+       BULK RECONCILIATION
+    ============================ */
+    @Test
+    void shouldReturnCursorOnlyWhenPageIsFull() {
+        when(accountRepository.count()).thenReturn(3L);
+        when(ledgerRepository.findBalanceMismatches(eq(""), any()))
+                .thenReturn(List.of(mismatchView("ACC1", 100, 90), mismatchView("ACC2", 50, 60)));
+        when(ledgerRepository.findBalanceMismatches(eq("ACC2"), any()))
+                .thenReturn(List.of());
+
+        LedgerReconciliationPageDto first = ledgerService.findBalanceMismatches(null, 2);
+        LedgerReconciliationPageDto last = ledgerService.findBalanceMismatches("ACC2", 2);
+
+        assertEquals("ACC2", first.getNextAfterAccountNumber());
+        assertEquals(BigDecimal.valueOf(10), first.getMismatches().get(0).getVariance());
+        assertEquals(BigDecimal.valueOf(-10), first.getMismatches().get(1).getVariance());
+        assertNull(last.getNextAfterAccountNumber());
+        assertEquals(3L, last.getTotalAccounts());
+    }
+
+    @Test
+    void shouldRejectOversizedReconciliationPage() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ledgerService.findBalanceMismatches(null, 100_000));
+    }
+
     /* ============================
        HELPER METHOD
     ============================ */
-    private LedgerEntry createEntry(
-            LedgerEntry.EntryType type,
-            double amount
-    ) {
-        LedgerEntry entry = new LedgerEntry();
-        entry.setEntryType(type);
-        entry.setAmount(BigDecimal.valueOf(amount));
-        return entry;
+    private LedgerMismatchView mismatchView(String accountNumber, long accountBalance, long ledgerBalance) {
+        return new LedgerMismatchView() {
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public BigDecimal getAccountBalance() {
+                return BigDecimal.valueOf(accountBalance);
+            }
+
+            @Override
+            public BigDecimal getLedgerBalance() {
+                return BigDecimal.valueOf(ledgerBalance);
+            }
+        };
+    }
+
+    private LedgerBalanceView balanceView(String accountNumber, long balance) {
+        return new LedgerBalanceView() {
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return BigDecimal.valueOf(balance);
+            }
+        };
     }
 }
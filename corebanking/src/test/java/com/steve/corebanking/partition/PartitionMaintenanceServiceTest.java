@@ -0,0 +1,95 @@
+package com.steve.corebanking.partition;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartitionMaintenanceServiceTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    // =========================
+    // NAMING
+    // =========================
+    @Test
+    void parseShouldReadMonthlyAndLegacyPartitions() {
+        MonthlyPartition monthly = PartitionMaintenanceService.parse("transaction_p2026_11");
+        assertThat(monthly.getFrom()).isEqualTo(YearMonth.of(2026, 11));
+        assertThat(monthly.getUntil()).isEqualTo(YearMonth.of(2026, 12));
+
+        MonthlyPartition legacy = PartitionMaintenanceService.parse("ledger_entry_p_before_2026_11");
+        assertThat(legacy.getFrom()).isNull();
+        assertThat(legacy.getUntil()).isEqualTo(YearMonth.of(2026, 11));
+
+        assertThat(PartitionMaintenanceService.parse("transaction_archive")).isNull();
+    }
+
+    @Test
+    void partitionNameShouldRoundTrip() {
+        String name = PartitionMaintenanceService.partitionName("ledger_entry", YearMonth.of(2027, 1));
+
+        assertThat(name).isEqualTo("ledger_entry_p2027_01");
+        assertThat(PartitionMaintenanceService.parse(name).getFrom()).isEqualTo(YearMonth.of(2027, 1));
+    }
+
+    // =========================
+    // CREATING AHEAD
+    // =========================
+    @Test
+    void missingMonthsShouldSkipMonthsCoveredByLegacyPartition() {
+        List<MonthlyPartition> existing = List.of(
+                PartitionMaintenanceService.parse("transaction_p_before_2026_11"),
+                PartitionMaintenanceService.parse("transaction_p2026_11"));
+
+        assertThat(PartitionMaintenanceService.missingMonths(existing, NOW, 3))
+                .containsExactly(YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void missingMonthsShouldFillGaps() {
+        List<MonthlyPartition> existing = List.of(
+                PartitionMaintenanceService.parse("transaction_p2026_10"),
+                PartitionMaintenanceService.parse("transaction_p2026_12"));
+
+        assertThat(PartitionMaintenanceService.missingMonths(existing, NOW, 2))
+                .containsExactly(YearMonth.of(2026, 11));
+    }
+
+    // =========================
+    // DETACHING OLD
+    // =========================
+    @Test
+    void expiredShouldOnlyReturnPartitionsEntirelyBeforeHorizon() {
+        List<MonthlyPartition> existing = List.of(
+                PartitionMaintenanceService.parse("transaction_p_before_2025_11"),
+                PartitionMaintenanceService.parse("transaction_p2025_11"),
+                PartitionMaintenanceService.parse("transaction_p2026_10"));
+
+        assertThat(PartitionMaintenanceService.expired(existing, NOW, 11))
+                .extracting(MonthlyPartition::getName)
+                .containsExactly("transaction_p_before_2025_11");
+        assertThat(PartitionMaintenanceService.expired(existing, NOW, 10))
+                .extracting(MonthlyPartition::getName)
+                .containsExactly("transaction_p_before_2025_11", "transaction_p2025_11");
+    }
+
+    @Test
+    void partitionStillHoldingRowsShouldNotBeDetached() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PartitionMaintenanceService service = new PartitionMaintenanceService(jdbcTemplate, 3, 12);
+        // Past retention, but the archive job has not moved its rows yet
+        when(jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM transaction_p2025_01)", Boolean.class))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM transaction_p2025_02)", Boolean.class))
+                .thenReturn(true);
+
+        assertThat(service.canDetach(PartitionMaintenanceService.parse("transaction_p2025_01"))).isFalse();
+        assertThat(service.canDetach(PartitionMaintenanceService.parse("transaction_p2025_02"))).isTrue();
+    }
+}
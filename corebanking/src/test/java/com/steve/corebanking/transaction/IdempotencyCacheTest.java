@@ -0,0 +1,88 @@
+package com.steve.corebanking.transaction;
+
+import com.steve.corebanking.transaction.dto.TransactionResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldReturnStoredResponseForKey() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(5), clock);
+        TransactionResponseDto response = response("ref-1");
+
+        cache.put("key-1", response);
+
+        assertThat(cache.get("key-1")).isSameAs(response);
+        assertThat(cache.get("key-2")).isNull();
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(5), clock);
+        cache.put("key-1", response("ref-1"));
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(cache.get("key-1")).isNotNull();
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.get("key-1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedKeyWhenFull() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(5), clock);
+        cache.put("key-1", response("ref-1"));
+        cache.put("key-2", response("ref-2"));
+
+        cache.get("key-1"); // key-2 is now the eldest
+        cache.put("key-3", response("ref-3"));
+
+        assertThat(cache.get("key-1")).isNotNull();
+        assertThat(cache.get("key-2")).isNull();
+        assertThat(cache.get("key-3")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private static TransactionResponseDto response(String referenceId) {
+        TransactionResponseDto dto = new TransactionResponseDto();
+        dto.setReferenceId(referenceId);
+        return dto;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
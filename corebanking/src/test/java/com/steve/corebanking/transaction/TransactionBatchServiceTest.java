@@ -0,0 +1,207 @@
+package com.steve.corebanking.transaction;
+
+import com.steve.corebanking.account.AccountBalanceView;
+import com.steve.corebanking.account.AccountLockManager;
+import com.steve.corebanking.account.AccountRepository;
+import com.steve.corebanking.account.AccountRetryExecutor;
+import com.steve.corebanking.ledger.LedgerService;
+import com.steve.corebanking.transaction.dto.BatchTransactionResponseDto;
+import com.steve.corebanking.transaction.dto.TransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Mock
+    private DailyTransactionRollupService rollupService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AccountLockManager accountLockManager = spy(new AccountLockManager(1024));
+
+    private TransactionBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new TransactionBatchService(accountRepository, transactionRepository, transactionArchiveRepository,
+                new IdempotencyCache(100, 60), rollupService, ledgerService, jdbcTemplate,
+                accountLockManager, new AccountRetryExecutor(3, 0, 0), transactionManager,
+                1000, 4, 100_000);
+
+        // Every account exists at version 0 with plenty of money
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenAnswer(inv ->
+                inv.<Collection<String>>getArgument(0).stream().map(acc -> view(acc, "1000")).toList());
+    }
+
+    @Test
+    void chunkShouldCloseOnceItTouchesMaxLockedAccounts() {
+        stubAllUpdatesApplied();
+
+        BatchTransactionResponseDto response = batchService.postBatch(List.of(
+                deposit("ACC001"), deposit("ACC002"), transfer("ACC003", "ACC004"),
+                deposit("ACC001"), deposit("ACC005")));
+
+        assertThat(response.getPosted()).isEqualTo(5);
+        ArgumentCaptor<Collection<String>> locked = ArgumentCaptor.captor();
+        verify(accountLockManager, times(2)).withLocks(locked.capture(), any(Supplier.class));
+        assertThat(locked.getAllValues().get(0)).containsExactly("ACC001", "ACC002", "ACC003", "ACC004");
+        assertThat(locked.getAllValues().get(1)).containsExactly("ACC005"); // ACC001 was already in the first chunk
+    }
+
+    @Test
+    void conflictShouldFailOnlyTheItemsOfTheChangedAccount() {
+        // ACC002 changes under every attempt; the other accounts update normally
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE account"), anyList())).thenAnswer(inv ->
+                inv.<List<Object[]>>getArgument(1).stream()
+                        .mapToInt(row -> "ACC002".equals(row[1]) ? 0 : 1)
+                        .toArray());
+
+        BatchTransactionResponseDto response = batchService.postBatch(List.of(
+                deposit("ACC001"), deposit("ACC002"), transfer("ACC001", "ACC003")));
+
+        assertThat(response.getPosted()).isEqualTo(2);
+        assertThat(response.getResults().get(0).isSuccess()).isTrue();
+        assertThat(response.getResults().get(1).getError())
+                .isEqualTo("Account ACC002 changed while the batch was being posted");
+        assertThat(response.getResults().get(2).isSuccess()).isTrue();
+    }
+
+    @Test
+    void reusedKeyForDifferentTransactionShouldFailTheItem() {
+        stubAllUpdatesApplied();
+        Transaction original = new Transaction();
+        original.setReferenceId("ref-original");
+        original.setIdempotencyKey("key-1");
+        original.setAccountNumber("ACC009");
+        original.setAmount(new BigDecimal("10"));
+        original.setType(TransactionType.DEPOSIT);
+        original.setCreatedAt(LocalDateTime.now());
+        when(transactionRepository.findByIdempotencyKeyIn(anyCollection())).thenReturn(List.of(original));
+
+        TransactionDto inDatabase = deposit("ACC001");
+        inDatabase.setIdempotencyKey("key-1");
+        TransactionDto first = deposit("ACC002");
+        first.setIdempotencyKey("key-2");
+        TransactionDto repeated = deposit("ACC003");
+        repeated.setIdempotencyKey("key-2");
+
+        BatchTransactionResponseDto response = batchService.postBatch(List.of(inDatabase, first, repeated));
+
+        assertThat(response.getPosted()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getError())
+                .isEqualTo("Idempotency key key-1 was already used for a different transaction");
+        assertThat(response.getResults().get(1).isSuccess()).isTrue();
+        assertThat(response.getResults().get(2).getError())
+                .isEqualTo("Idempotency key key-2 was already used for a different transaction");
+    }
+
+    @Test
+    void keyPostedByAnotherWriterMidChunkShouldBeReportedAndTheRestReposted() {
+        stubAllUpdatesApplied();
+        Transaction original = new Transaction();
+        original.setReferenceId("ref-original");
+        original.setIdempotencyKey("key-1");
+        original.setAccountNumber("ACC001");
+        original.setAmount(new BigDecimal("10"));
+        original.setType(TransactionType.DEPOSIT);
+        original.setCreatedAt(LocalDateTime.now());
+        // Not there when the chunk checks its keys, committed by the time the insert runs
+        when(transactionRepository.findByIdempotencyKeyIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(original));
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO transaction"), anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .thenReturn(new int[]{1});
+
+        TransactionDto keyed = deposit("ACC001");
+        keyed.setIdempotencyKey("key-1");
+
+        BatchTransactionResponseDto response = batchService.postBatch(List.of(keyed, deposit("ACC002")));
+
+        assertThat(response.getPosted()).isEqualTo(2);
+        assertThat(response.getResults().get(0).isDuplicate()).isTrue();
+        assertThat(response.getResults().get(0).getReferenceId()).isEqualTo("ref-original");
+        assertThat(response.getResults().get(1).isSuccess()).isTrue();
+        assertThat(response.getResults().get(1).isDuplicate()).isFalse();
+    }
+
+    @Test
+    void failedChunkShouldNotExposeTheDatabaseError() {
+        stubAllUpdatesApplied();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO transaction"), anyList()))
+                .thenThrow(new DataIntegrityViolationException("ERROR: null value in column \"amount\""));
+
+        BatchTransactionResponseDto response = batchService.postBatch(List.of(deposit("ACC001")));
+
+        assertThat(response.getPosted()).isZero();
+        assertThat(response.getResults().get(0).getError()).isEqualTo("Chunk could not be posted");
+    }
+
+    /* ============================
+       HELPER METHODS
+    ============================ */
+    private void stubAllUpdatesApplied() {
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE account"), anyList())).thenAnswer(inv ->
+                inv.<List<?>>getArgument(1).stream().mapToInt(row -> 1).toArray());
+    }
+
+    private static TransactionDto deposit(String accountNumber) {
+        TransactionDto dto = new TransactionDto();
+        dto.setAccountNumber(accountNumber);
+        dto.setAmount(new BigDecimal("10"));
+        dto.setType(TransactionType.DEPOSIT);
+        return dto;
+    }
+
+    private static TransactionDto transfer(String from, String to) {
+        TransactionDto dto = deposit(from);
+        dto.setType(TransactionType.TRANSFER);
+        dto.setTargetAccount(to);
+        return dto;
+    }
+
+    private static AccountBalanceView view(String accountNumber, String balance) {
+        return new AccountBalanceView() {
+            public String getAccountNumber() { return accountNumber; }
+            public BigDecimal getBalance() { return new BigDecimal(balance); }
+            public Long getVersion() { return 0L; }
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package com.steve.corebanking.transaction;
 
+import com.steve.corebanking.account.AccountLockManager;
 import com.steve.corebanking.account.AccountService;
+import com.steve.corebanking.archive.ArchiveService;
+import com.steve.corebanking.exception.IdempotencyKeyConflictException;
 import com.steve.corebanking.ledger.LedgerService;
 import com.steve.corebanking.transaction.dto.TransactionDto;
 import com.steve.corebanking.transaction.dto.TransactionResponseDto;
@@ -8,16 +11,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -37,6 +47,24 @@ class TransactionServiceTest {
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DailyTransactionRollupService rollupService;
+
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    @Spy
+    private AccountLockManager accountLockManager = new AccountLockManager(16);
+
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -61,9 +89,6 @@ class TransactionServiceTest {
         savedTx.setNarration(dto.getNarration());
         savedTx.setCreatedAt(LocalDateTime.now());
 
-        when(transactionRepository.existsByReferenceId(anyString()))
-                .thenReturn(false);
-
         when(transactionRepository.save(any(Transaction.class)))
                 .thenReturn(savedTx);
 
@@ -99,9 +124,6 @@ class TransactionServiceTest {
         dto.setType(TransactionType.WITHDRAWAL);
         dto.setNarration("ATM withdrawal");
 
-        when(transactionRepository.existsByReferenceId(anyString()))
-                .thenReturn(false);
-
         when(transactionRepository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -119,6 +141,31 @@ class TransactionServiceTest {
                         eq(dto.getNarration())
                 );
     }
+    @Test
+    void createTransaction_Transfer_ShouldLockBothAccountsAndCommit() {
+        TransactionDto dto = new TransactionDto();
+        dto.setAccountNumber("0123456789");
+        dto.setTargetAccount("9876543210");
+        dto.setAmount(new BigDecimal("200"));
+        dto.setType(TransactionType.TRANSFER);
+        dto.setNarration("Rent");
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> {
+                    Transaction tx = invocation.getArgument(0);
+                    tx.setCreatedAt(LocalDateTime.now());
+                    return tx;
+                });
+
+        transactionService.createTransaction(dto);
+
+        verify(accountLockManager)
+                .withLocks(eq(List.of("0123456789", "9876543210")), any());
+        verify(accountService).debitAccount("0123456789", dto.getAmount());
+        verify(accountService).creditAccount("9876543210", dto.getAmount());
+        verify(transactionManager).commit(any());
+    }
+
     @Test
     void createTransaction_TransferSameAccount_ShouldThrowException() {
         TransactionDto dto = new TransactionDto();
@@ -139,6 +186,27 @@ class TransactionServiceTest {
         verifyNoInteractions(accountService, ledgerService, transactionRepository);
     }
 
+    @Test
+    void createTransaction_ShouldApplyRollupAfterReleasingAccountLocks() {
+        TransactionDto dto = validDepositDto();
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> {
+                    Transaction tx = invocation.getArgument(0);
+                    tx.setCreatedAt(LocalDateTime.now());
+                    return tx;
+                });
+        // Another thread can only take the account's stripe if this one has let go of it
+        doAnswer(invocation -> CompletableFuture
+                .supplyAsync(() -> accountLockManager.withLocks(List.of(dto.getAccountNumber()), () -> true))
+                .get(5, TimeUnit.SECONDS))
+                .when(rollupService).apply(any());
+
+        transactionService.createTransaction(dto);
+
+        verify(rollupService).apply(any());
+    }
+
     @Test
     void createTransaction_InvalidAmount_ShouldThrowException() {
         TransactionDto dto = validDepositDto();
@@ -151,30 +219,110 @@ class TransactionServiceTest {
         assertEquals("Amount must be > 0", ex.getMessage());
     }
     @Test
-    void createTransaction_DuplicateReference_ShouldThrowException() {
+    void createTransaction_RepeatedIdempotencyKey_ShouldReturnCachedResponse() {
         TransactionDto dto = validDepositDto();
+        dto.setIdempotencyKey("client-key-1");
 
-        when(transactionRepository.existsByReferenceId(anyString()))
-                .thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> {
+                    Transaction tx = invocation.getArgument(0);
+                    tx.setCreatedAt(LocalDateTime.now());
+                    return tx;
+                });
+
+        TransactionResponseDto first = transactionService.createTransaction(dto);
+        TransactionResponseDto retry = transactionService.createTransaction(dto);
+
+        assertSame(first, retry);
+        assertEquals("client-key-1", retry.getIdempotencyKey());
+        verify(accountService, times(1)).creditAccount(dto.getAccountNumber(), dto.getAmount());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
 
-        IllegalStateException ex =
-                assertThrows(IllegalStateException.class,
-                        () -> transactionService.createTransaction(dto));
+    @Test
+    void createTransaction_KeyAlreadyInDatabase_ShouldReturnOriginalTransaction() {
+        TransactionDto dto = validDepositDto();
+        dto.setIdempotencyKey("client-key-2");
+
+        Transaction original = new Transaction();
+        original.setReferenceId("ref-original");
+        original.setIdempotencyKey("client-key-2");
+        original.setAccountNumber(dto.getAccountNumber());
+        original.setAmount(dto.getAmount());
+        original.setType(dto.getType());
+        original.setCreatedAt(LocalDateTime.now());
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_transaction_idempotency_key"));
+        when(transactionRepository.findByIdempotencyKey("client-key-2"))
+                .thenReturn(Optional.of(original));
+
+        TransactionResponseDto response = transactionService.createTransaction(dto);
 
-        assertEquals("Duplicate transaction attempt", ex.getMessage());
+        assertEquals("ref-original", response.getReferenceId());
+        verifyNoInteractions(accountService, ledgerService);
+        verify(transactionManager).rollback(any());
     }
 
     @Test
-    void getAllTransactions_ShouldReturnList() {
-        when(transactionRepository.findAll())
-                .thenReturn(List.of(new Transaction(), new Transaction()));
+    void createTransaction_KeyReusedForDifferentRequest_ShouldConflict() {
+        TransactionDto dto = validDepositDto();
+        dto.setIdempotencyKey("client-key-3");
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> {
+                    Transaction tx = invocation.getArgument(0);
+                    tx.setCreatedAt(LocalDateTime.now());
+                    return tx;
+                });
+
+        transactionService.createTransaction(dto);
 
-        List<Transaction> result =
-                transactionService.getAllTransactions();
+        TransactionDto other = validDepositDto();
+        other.setIdempotencyKey("client-key-3");
+        other.setAmount(new BigDecimal("2000"));
 
-        assertEquals(2, result.size());
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> transactionService.createTransaction(other));
+        verify(accountService, times(1)).creditAccount(anyString(), any(BigDecimal.class));
     }
 
+    @Test
+    void createTransaction_KeyInDatabaseForDifferentAccount_ShouldConflict() {
+        TransactionDto dto = validDepositDto();
+        dto.setIdempotencyKey("client-key-4");
+
+        Transaction original = new Transaction();
+        original.setReferenceId("ref-original");
+        original.setIdempotencyKey("client-key-4");
+        original.setAccountNumber("9999999999");
+        original.setAmount(dto.getAmount());
+        original.setType(dto.getType());
+        original.setCreatedAt(LocalDateTime.now());
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_transaction_idempotency_key"));
+        when(transactionRepository.findByIdempotencyKey("client-key-4"))
+                .thenReturn(Optional.of(original));
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> transactionService.createTransaction(dto));
+        verifyNoInteractions(accountService, ledgerService);
+    }
+
+    @Test
+    void createTransaction_IntegrityViolationWithoutKey_ShouldPropagate() {
+        TransactionDto dto = validDepositDto();
+
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("boom"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transactionService.createTransaction(dto));
+        verify(transactionRepository, never()).findByIdempotencyKey(anyString());
+    }
+
+
 
 
 